@@ -0,0 +1,24 @@
+package com.tumblr.backboard.benchmarks;
+
+import com.tumblr.backboard.performer.FloatTarget;
+
+/**
+ * A target that sums the values it is given, standing in for a view property, so that performing
+ * a value is not optimized away.
+ */
+final class FloatSink implements FloatTarget {
+
+	private float mSum;
+
+	@Override
+	public void setValue(final float value) {
+		mSum += value;
+	}
+
+	/**
+	 * @return the sum of the values so far.
+	 */
+	public float getSum() {
+		return mSum;
+	}
+}
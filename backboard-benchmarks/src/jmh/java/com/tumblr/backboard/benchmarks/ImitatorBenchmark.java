@@ -0,0 +1,100 @@
+package com.tumblr.backboard.benchmarks;
+
+import com.facebook.rebound.BaseSpringSystem;
+import com.facebook.rebound.Spring;
+import com.tumblr.backboard.InputSample;
+import com.tumblr.backboard.MotionAxis;
+import com.tumblr.backboard.MotionSample;
+import com.tumblr.backboard.imitator.SampleImitator;
+import com.tumblr.backboard.performer.FloatPerformer;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs {@link SampleImitator#imitate(InputSample)}, which samples the move, estimates the velocity
+ * and sets the spring, for many imitators, each with its own spring and performer. This is the work
+ * an <code>Actor</code> does for every touch event, once the event is wrapped in a sample.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ImitatorBenchmark {
+
+	/**
+	 * The time between moves, in milliseconds.
+	 */
+	private static final long MOVE_INTERVAL = 8;
+	private static final int VIEW_SIZE = 100;
+	private static final float CENTER = VIEW_SIZE / 2f;
+
+	/**
+	 * The number of imitators, alternating between x and y.
+	 */
+	@Param({"1", "10", "100", "1000"})
+	public int motions;
+
+	/**
+	 * Whether or not the imitators step through the two historical samples of each move.
+	 */
+	@Param({"false", "true"})
+	public boolean replayHistory;
+
+	private SampleImitator[] mImitators;
+	private MotionSample mSample;
+	private long mTime;
+	private float mOffset = 1;
+
+	/**
+	 * Creates the imitators and sends them a touch.
+	 */
+	@Setup
+	public void setUp() {
+		final BaseSpringSystem springSystem = new BaseSpringSystem(new ManualLooper());
+
+		mSample = new MotionSample().setTarget(0, 0, VIEW_SIZE, VIEW_SIZE)
+				.setCurrent(InputSample.ACTION_DOWN, 0, 0, CENTER, CENTER);
+		mImitators = new SampleImitator[motions];
+
+		for (int i = 0; i < motions; i++) {
+			final Spring spring = springSystem.createSpring();
+
+			spring.addListener(new FloatPerformer(new FloatSink()));
+
+			mImitators[i] = new SampleImitator(spring, i % 2 == 0 ? MotionAxis.X : MotionAxis.Y)
+					.setReplayHistory(replayHistory);
+			mImitators[i].imitate(mSample);
+		}
+	}
+
+	/**
+	 * Sends one move, with two historical samples, to every imitator.
+	 *
+	 * @return the imitators.
+	 */
+	@Benchmark
+	public SampleImitator[] imitate() {
+		// wiggle around the center, so that the springs do not drift away
+		mOffset = -mOffset;
+		mTime += MOVE_INTERVAL;
+
+		mSample.setCurrent(InputSample.ACTION_MOVE, 0, mTime, CENTER + mOffset, CENTER + mOffset)
+				.clearHistory()
+				.addHistory(mTime - 6, CENTER, CENTER)
+				.addHistory(mTime - 3, CENTER - mOffset, CENTER - mOffset);
+
+		for (SampleImitator imitator : mImitators) {
+			imitator.imitate(mSample);
+		}
+
+		return mImitators;
+	}
+}
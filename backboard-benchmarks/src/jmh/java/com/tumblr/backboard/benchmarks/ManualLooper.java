@@ -0,0 +1,19 @@
+package com.tumblr.backboard.benchmarks;
+
+import com.facebook.rebound.SpringLooper;
+
+/**
+ * A looper that never runs on its own, so that benchmarks step spring systems explicitly with
+ * {@link com.facebook.rebound.BaseSpringSystem#loop(double)}.
+ */
+final class ManualLooper extends SpringLooper {
+	@Override
+	public void start() {
+		// pass
+	}
+
+	@Override
+	public void stop() {
+		// pass
+	}
+}
@@ -0,0 +1,83 @@
+package com.tumblr.backboard.benchmarks;
+
+import com.facebook.rebound.BaseSpringSystem;
+import com.facebook.rebound.Spring;
+import com.tumblr.backboard.performer.FloatPerformer;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Updates one spring that drives many targets: through one {@link FloatPerformer} listener per
+ * target, which Rebound notifies in {@link FloatPerformer#onSpringUpdate(Spring)}, and through
+ * {@link FloatPerformer#perform(double)} on each performer from a single loop, which is how a
+ * <code>FanOutPerformer</code> drives its targets.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PerformerFanOutBenchmark {
+
+	/**
+	 * The number of targets.
+	 */
+	@Param({"1", "10", "100", "1000"})
+	public int performers;
+
+	private Spring mListenerSpring;
+	private FloatPerformer[] mPerformers;
+	private double mValue;
+
+	/**
+	 * Creates one target per performer.
+	 */
+	@Setup
+	public void setUp() {
+		final BaseSpringSystem springSystem = new BaseSpringSystem(new ManualLooper());
+
+		mListenerSpring = springSystem.createSpring();
+		mPerformers = new FloatPerformer[performers];
+
+		for (int i = 0; i < performers; i++) {
+			mListenerSpring.addListener(new FloatPerformer(new FloatSink()));
+			mPerformers[i] = new FloatPerformer(new FloatSink()).setRange(0, 1, 0, i);
+		}
+	}
+
+	/**
+	 * Sets the value of the spring, which notifies every performer.
+	 *
+	 * @return the spring.
+	 */
+	@Benchmark
+	public Spring performers() {
+		mValue = 1 - mValue;
+		mListenerSpring.setCurrentValue(mValue);
+
+		return mListenerSpring;
+	}
+
+	/**
+	 * Performs a value on every target.
+	 *
+	 * @return the performers.
+	 */
+	@Benchmark
+	public FloatPerformer[] fanOut() {
+		mValue = 1 - mValue;
+
+		for (FloatPerformer performer : mPerformers) {
+			performer.perform(mValue);
+		}
+
+		return mPerformers;
+	}
+}
@@ -0,0 +1,145 @@
+package com.tumblr.backboard.benchmarks;
+
+import com.facebook.rebound.BaseSpringSystem;
+import com.facebook.rebound.Spring;
+import com.tumblr.backboard.physics.BaseSpringBatch;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Steps one frame of many moving springs: Rebound springs in a {@link BaseSpringSystem}, and the
+ * same springs in a {@link BaseSpringBatch}, with either solver. The end values are toggled every few
+ * frames so that the springs never come to rest.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SpringStepBenchmark {
+
+	private static final double FRAME_MILLIS = 1000.0 / 60;
+	private static final double FRAME_SECONDS = FRAME_MILLIS / 1000;
+	/**
+	 * The number of frames between changes of the end values.
+	 */
+	private static final int FRAMES_PER_TOGGLE = 30;
+
+	/**
+	 * The number of springs.
+	 */
+	@Param({"1", "10", "100", "1000"})
+	public int springs;
+
+	private BaseSpringSystem mSpringSystem;
+	private Spring[] mSprings;
+
+	private BaseSpringBatch mBatch;
+	private BaseSpringBatch mAnalyticBatch;
+	private int[] mHandles;
+	private int[] mAnalyticHandles;
+
+	private int mReboundFrame;
+	private int mBatchFrame;
+	private int mAnalyticFrame;
+
+	/**
+	 * Creates the springs, at rest at 0.
+	 */
+	@Setup
+	public void setUp() {
+		mSpringSystem = new BaseSpringSystem(new ManualLooper());
+		mSprings = new Spring[springs];
+
+		mBatch = new BaseSpringBatch();
+		mAnalyticBatch = new BaseSpringBatch().setSolver(BaseSpringBatch.SOLVER_ANALYTIC);
+		mHandles = new int[springs];
+		mAnalyticHandles = new int[springs];
+
+		for (int i = 0; i < springs; i++) {
+			mSprings[i] = mSpringSystem.createSpring();
+			mHandles[i] = mBatch.create();
+			mAnalyticHandles[i] = mAnalyticBatch.create();
+		}
+	}
+
+	/**
+	 * @param frame
+	 * 		the frame count.
+	 * @return the end value for the frame, if it is time to toggle, otherwise -1.
+	 */
+	private static double toggle(final int frame) {
+		if (frame % FRAMES_PER_TOGGLE != 0) {
+			return -1;
+		}
+
+		return (frame / FRAMES_PER_TOGGLE) % 2;
+	}
+
+	/**
+	 * Steps one frame of the Rebound springs.
+	 *
+	 * @return the spring system.
+	 */
+	@Benchmark
+	public BaseSpringSystem rebound() {
+		final double endValue = toggle(mReboundFrame++);
+
+		if (endValue >= 0) {
+			for (Spring spring : mSprings) {
+				spring.setEndValue(endValue);
+			}
+		}
+
+		mSpringSystem.loop(FRAME_MILLIS);
+
+		return mSpringSystem;
+	}
+
+	/**
+	 * Steps one frame of the batch springs, integrated like Rebound's.
+	 *
+	 * @return the batch.
+	 */
+	@Benchmark
+	public BaseSpringBatch batch() {
+		final double endValue = toggle(mBatchFrame++);
+
+		if (endValue >= 0) {
+			for (int handle : mHandles) {
+				mBatch.setEndValue(handle, endValue);
+			}
+		}
+
+		mBatch.step(FRAME_SECONDS);
+
+		return mBatch;
+	}
+
+	/**
+	 * Steps one frame of the batch springs, in closed form.
+	 *
+	 * @return the batch.
+	 */
+	@Benchmark
+	public BaseSpringBatch analyticBatch() {
+		final double endValue = toggle(mAnalyticFrame++);
+
+		if (endValue >= 0) {
+			for (int handle : mAnalyticHandles) {
+				mAnalyticBatch.setEndValue(handle, endValue);
+			}
+		}
+
+		mAnalyticBatch.step(FRAME_SECONDS);
+
+		return mAnalyticBatch;
+	}
+}
@@ -0,0 +1,170 @@
+package com.tumblr.backboard.benchmarks;
+
+import com.facebook.rebound.BaseSpringSystem;
+import com.facebook.rebound.Spring;
+import com.tumblr.backboard.InputSample;
+import com.tumblr.backboard.MotionAxis;
+import com.tumblr.backboard.MotionSample;
+import com.tumblr.backboard.imitator.SampleImitator;
+import com.tumblr.backboard.performer.FloatPerformer;
+import com.tumblr.backboard.trace.TouchTrace;
+import com.tumblr.backboard.trace.TouchTraceWriter;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Replays a memory-mapped drag through many imitators at a simulated 60 fps, from the first touch
+ * until the springs come to rest, so the whole gesture is measured rather than a single event.
+ * Each frame reads the events recorded up to the frame time, as a <code>TouchTraceReplayer</code>
+ * does, and then loops the spring system by one frame interval.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TraceReplayBenchmark {
+
+	/**
+	 * The time between samples, in milliseconds, as reported by a 120 Hz touch screen.
+	 */
+	private static final long SAMPLE_INTERVAL = 8;
+	/**
+	 * The number of samples in each move event, including the current one.
+	 */
+	private static final int SAMPLES_PER_MOVE = 2;
+	private static final int MOVES = 120;
+	private static final float STEP = 3;
+	private static final int VIEW_SIZE = 100;
+	private static final long FRAME_INTERVAL_NANOS = 16666667;
+	private static final long NANOSECONDS_PER_MILLISECOND = 1000000;
+
+	/**
+	 * The number of imitators, alternating between x and y.
+	 */
+	@Param({"1", "10", "100", "1000"})
+	public int motions;
+
+	private File mFile;
+	private TouchTrace mTrace;
+	private BaseSpringSystem mSpringSystem;
+	private Spring[] mSprings;
+	private SampleImitator[] mImitators;
+	private final MotionSample mSample = new MotionSample();
+
+	/**
+	 * Records a diagonal drag into a temporary file, maps it, and creates the imitators to replay
+	 * it through.
+	 *
+	 * @throws IOException
+	 * 		if the trace cannot be written.
+	 */
+	@Setup
+	public void setUp() throws IOException {
+		mFile = File.createTempFile("drag", ".trace");
+		writeDrag(mFile);
+
+		mTrace = TouchTrace.map(mFile);
+		mSpringSystem = new BaseSpringSystem(new ManualLooper());
+		mSprings = new Spring[motions];
+		mImitators = new SampleImitator[motions];
+
+		for (int i = 0; i < motions; i++) {
+			mSprings[i] = mSpringSystem.createSpring();
+			mSprings[i].addListener(new FloatPerformer(new FloatSink()));
+			mImitators[i] = new SampleImitator(mSprings[i], i % 2 == 0 ? MotionAxis.X : MotionAxis.Y);
+		}
+	}
+
+	/**
+	 * Writes a drag from the center of the view, with historical samples, followed by a release.
+	 *
+	 * @param file
+	 * 		the file to write.
+	 * @throws IOException
+	 * 		if the file cannot be written.
+	 */
+	private static void writeDrag(final File file) throws IOException {
+		final TouchTraceWriter writer = new TouchTraceWriter(file);
+		final MotionSample sample = new MotionSample().setTarget(0, 0, VIEW_SIZE, VIEW_SIZE);
+		final float center = VIEW_SIZE / 2f;
+
+		try {
+			writer.write(sample.setCurrent(InputSample.ACTION_DOWN, 0, 0, center, center));
+
+			long time = 0;
+			float position = center;
+
+			for (int i = 0; i < MOVES; i++) {
+				sample.clearHistory();
+
+				for (int j = 1; j < SAMPLES_PER_MOVE; j++) {
+					time += SAMPLE_INTERVAL;
+					position += STEP;
+					sample.addHistory(time, position, position);
+				}
+
+				time += SAMPLE_INTERVAL;
+				position += STEP;
+				writer.write(sample.setCurrent(InputSample.ACTION_MOVE, 0, time, position, position));
+			}
+
+			sample.clearHistory();
+			writer.write(sample.setCurrent(InputSample.ACTION_UP, 0, time, position, position));
+		} finally {
+			writer.close();
+		}
+	}
+
+	/**
+	 * Deletes the trace.
+	 */
+	@TearDown
+	public void tearDown() {
+		mFile.delete();
+	}
+
+	/**
+	 * Replays the whole drag, starting with the springs at rest at 0.
+	 *
+	 * @return the number of frames.
+	 */
+	@Benchmark
+	public int replay() {
+		for (Spring spring : mSprings) {
+			spring.setCurrentValue(0, true);
+		}
+
+		final TouchTrace trace = mTrace;
+		final int eventCount = trace.getEventCount();
+		int nextEvent = 0;
+		int frames = 0;
+
+		for (long frameTimeNanos = 0; nextEvent < eventCount || !mSpringSystem.getIsIdle();
+		     frameTimeNanos += FRAME_INTERVAL_NANOS) {
+			while (nextEvent < eventCount
+					&& trace.getEventTime(nextEvent) * NANOSECONDS_PER_MILLISECOND <= frameTimeNanos) {
+				trace.read(nextEvent++, mSample);
+
+				for (SampleImitator imitator : mImitators) {
+					imitator.imitate(mSample);
+				}
+			}
+
+			mSpringSystem.loop((double) FRAME_INTERVAL_NANOS / NANOSECONDS_PER_MILLISECOND);
+			frames++;
+		}
+
+		return frames;
+	}
+}
@@ -0,0 +1,99 @@
+package com.tumblr.backboard;
+
+/**
+ * A touch sample of a single pointer, with its history and the layout of the target it was
+ * dispatched to. This is what imitators read from a touch event, so that the mapping from touch
+ * to spring does not depend on <code>android.view.MotionEvent</code> and can run off-device.
+ * <p>
+ * Actions and times have the same values as their <code>MotionEvent</code> counterparts.
+ */
+public interface InputSample {
+
+	/**
+	 * The pointer went down, same as <code>MotionEvent.ACTION_DOWN</code>.
+	 */
+	int ACTION_DOWN = 0;
+	/**
+	 * The pointer went up, same as <code>MotionEvent.ACTION_UP</code>.
+	 */
+	int ACTION_UP = 1;
+	/**
+	 * The pointer moved, same as <code>MotionEvent.ACTION_MOVE</code>.
+	 */
+	int ACTION_MOVE = 2;
+	/**
+	 * The gesture was aborted, same as <code>MotionEvent.ACTION_CANCEL</code>.
+	 */
+	int ACTION_CANCEL = 3;
+
+	/**
+	 * @return the action, e.g. {@link #ACTION_DOWN}.
+	 */
+	int getAction();
+
+	/**
+	 * @return the time the pointer went down, in milliseconds.
+	 */
+	long getDownTime();
+
+	/**
+	 * @return the time of the sample, in milliseconds.
+	 */
+	long getEventTime();
+
+	/**
+	 * @return the x coordinate, relative to the target.
+	 */
+	float getX();
+
+	/**
+	 * @return the y coordinate, relative to the target.
+	 */
+	float getY();
+
+	/**
+	 * @return the number of historical samples, batched since the previous sample.
+	 */
+	int getHistorySize();
+
+	/**
+	 * @param index
+	 * 		the historical index, oldest first.
+	 * @return the historical x coordinate.
+	 */
+	float getHistoricalX(int index);
+
+	/**
+	 * @param index
+	 * 		the historical index, oldest first.
+	 * @return the historical y coordinate.
+	 */
+	float getHistoricalY(int index);
+
+	/**
+	 * @param index
+	 * 		the historical index, oldest first.
+	 * @return the historical event time, in milliseconds.
+	 */
+	long getHistoricalEventTime(int index);
+
+	/**
+	 * @return the x translation of the target at the time of the sample.
+	 */
+	float getTranslationX();
+
+	/**
+	 * @return the y translation of the target at the time of the sample.
+	 */
+	float getTranslationY();
+
+	/**
+	 * @return the width of the target.
+	 */
+	int getWidth();
+
+	/**
+	 * @return the height of the target.
+	 */
+	int getHeight();
+}
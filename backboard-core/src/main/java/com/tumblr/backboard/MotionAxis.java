@@ -0,0 +1,69 @@
+package com.tumblr.backboard;
+
+import androidx.annotation.NonNull;
+
+/**
+ * The axis of an {@link InputSample} that an imitator tracks.
+ * <code>MotionProperty</code> pairs each axis with the view property it moves.
+ */
+public enum MotionAxis {
+	/**
+	 * X direction, corresponds to {@link InputSample#getX()}.
+	 */
+	X,
+	/**
+	 * Y direction, corresponds to {@link InputSample#getY()}.
+	 */
+	Y;
+
+	/**
+	 * @param sample
+	 * 		the sample to inspect
+	 * @return the current value on this axis.
+	 */
+	public float getValue(@NonNull final InputSample sample) {
+		return this == Y ? sample.getY() : sample.getX();
+	}
+
+	/**
+	 * <i>Note that this method does not check the validity of</i> <code>index</code>.
+	 *
+	 * @param sample
+	 * 		the sample to inspect
+	 * @param index
+	 * 		the historical index, oldest first.
+	 * @return the historical value on this axis.
+	 */
+	public float getHistoricalValue(@NonNull final InputSample sample, final int index) {
+		return this == Y ? sample.getHistoricalY(index) : sample.getHistoricalX(index);
+	}
+
+	/**
+	 * <i>Note that this method does not check that the sample has history.</i>
+	 *
+	 * @param sample
+	 * 		the sample to inspect
+	 * @return the oldest historical value on this axis.
+	 */
+	public float getOldestValue(@NonNull final InputSample sample) {
+		return getHistoricalValue(sample, 0);
+	}
+
+	/**
+	 * @param sample
+	 * 		the sample to inspect
+	 * @return the translation of the target on this axis.
+	 */
+	public float getViewValue(@NonNull final InputSample sample) {
+		return this == Y ? sample.getTranslationY() : sample.getTranslationX();
+	}
+
+	/**
+	 * @param sample
+	 * 		the sample to inspect
+	 * @return the offset from the center of the target on this axis, in pixels.
+	 */
+	public float getOffset(@NonNull final InputSample sample) {
+		return this == Y ? -sample.getHeight() / 2 : -sample.getWidth() / 2;
+	}
+}
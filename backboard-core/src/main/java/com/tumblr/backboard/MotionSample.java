@@ -0,0 +1,232 @@
+package com.tumblr.backboard;
+
+import androidx.annotation.NonNull;
+
+/**
+ * A reusable {@link InputSample}, filled field by field. Historical arrays grow as needed and are
+ * never shrunk, so steady-state filling does not allocate.
+ * <p>
+ * Not thread safe.
+ */
+public class MotionSample implements InputSample {
+
+	/**
+	 * Initial capacity of the historical arrays.
+	 */
+	private static final int INITIAL_HISTORY_CAPACITY = 8;
+
+	private int mAction;
+	private long mDownTime;
+	private long mEventTime;
+	private float mX;
+	private float mY;
+
+	private int mHistorySize;
+	@NonNull
+	private float[] mHistoricalX = new float[INITIAL_HISTORY_CAPACITY];
+	@NonNull
+	private float[] mHistoricalY = new float[INITIAL_HISTORY_CAPACITY];
+	@NonNull
+	private long[] mHistoricalEventTime = new long[INITIAL_HISTORY_CAPACITY];
+
+	private float mTranslationX;
+	private float mTranslationY;
+	private int mWidth;
+	private int mHeight;
+
+	/**
+	 * Sets the current (non-historical) fields.
+	 *
+	 * @param action
+	 * 		the action, e.g. {@link #ACTION_MOVE}.
+	 * @param downTime
+	 * 		the time the pointer went down, in milliseconds.
+	 * @param eventTime
+	 * 		the time of the sample, in milliseconds.
+	 * @param x
+	 * 		the x coordinate, relative to the target.
+	 * @param y
+	 * 		the y coordinate, relative to the target.
+	 * @return this object for chaining.
+	 */
+	@NonNull
+	public MotionSample setCurrent(final int action, final long downTime, final long eventTime, final float x,
+	                               final float y) {
+		mAction = action;
+		mDownTime = downTime;
+		mEventTime = eventTime;
+		mX = x;
+		mY = y;
+
+		return this;
+	}
+
+	/**
+	 * Sets the layout of the target.
+	 *
+	 * @param translationX
+	 * 		the x translation of the target.
+	 * @param translationY
+	 * 		the y translation of the target.
+	 * @param width
+	 * 		the width of the target.
+	 * @param height
+	 * 		the height of the target.
+	 * @return this object for chaining.
+	 */
+	@NonNull
+	public MotionSample setTarget(final float translationX, final float translationY, final int width,
+	                              final int height) {
+		mTranslationX = translationX;
+		mTranslationY = translationY;
+		mWidth = width;
+		mHeight = height;
+
+		return this;
+	}
+
+	/**
+	 * Removes every historical sample.
+	 *
+	 * @return this object for chaining.
+	 */
+	@NonNull
+	public MotionSample clearHistory() {
+		mHistorySize = 0;
+
+		return this;
+	}
+
+	/**
+	 * Appends a historical sample, which must be newer than the existing ones.
+	 *
+	 * @param eventTime
+	 * 		the time of the sample, in milliseconds.
+	 * @param x
+	 * 		the x coordinate.
+	 * @param y
+	 * 		the y coordinate.
+	 * @return this object for chaining.
+	 */
+	@NonNull
+	public MotionSample addHistory(final long eventTime, final float x, final float y) {
+		ensureHistoryCapacity(mHistorySize + 1);
+
+		mHistoricalX[mHistorySize] = x;
+		mHistoricalY[mHistorySize] = y;
+		mHistoricalEventTime[mHistorySize] = eventTime;
+		mHistorySize++;
+
+		return this;
+	}
+
+	/**
+	 * Grows the historical arrays so they can hold at least <code>capacity</code> samples.
+	 *
+	 * @param capacity
+	 * 		the desired capacity.
+	 */
+	protected void ensureHistoryCapacity(final int capacity) {
+		if (capacity > mHistoricalX.length) {
+			final int newCapacity = Math.max(capacity, 2 * mHistoricalX.length);
+
+			final float[] historicalX = new float[newCapacity];
+			final float[] historicalY = new float[newCapacity];
+			final long[] historicalEventTime = new long[newCapacity];
+
+			System.arraycopy(mHistoricalX, 0, historicalX, 0, mHistorySize);
+			System.arraycopy(mHistoricalY, 0, historicalY, 0, mHistorySize);
+			System.arraycopy(mHistoricalEventTime, 0, historicalEventTime, 0, mHistorySize);
+
+			mHistoricalX = historicalX;
+			mHistoricalY = historicalY;
+			mHistoricalEventTime = historicalEventTime;
+		}
+	}
+
+	@Override
+	public int getAction() {
+		return mAction;
+	}
+
+	@Override
+	public long getDownTime() {
+		return mDownTime;
+	}
+
+	@Override
+	public long getEventTime() {
+		return mEventTime;
+	}
+
+	@Override
+	public float getX() {
+		return mX;
+	}
+
+	@Override
+	public float getY() {
+		return mY;
+	}
+
+	@Override
+	public int getHistorySize() {
+		return mHistorySize;
+	}
+
+	/**
+	 * <i>Note that this method does not check the validity of</i> <code>index</code>.
+	 *
+	 * @param index
+	 * 		the historical index, oldest first.
+	 * @return the historical x coordinate.
+	 */
+	@Override
+	public float getHistoricalX(final int index) {
+		return mHistoricalX[index];
+	}
+
+	/**
+	 * <i>Note that this method does not check the validity of</i> <code>index</code>.
+	 *
+	 * @param index
+	 * 		the historical index, oldest first.
+	 * @return the historical y coordinate.
+	 */
+	@Override
+	public float getHistoricalY(final int index) {
+		return mHistoricalY[index];
+	}
+
+	/**
+	 * <i>Note that this method does not check the validity of</i> <code>index</code>.
+	 *
+	 * @param index
+	 * 		the historical index, oldest first.
+	 * @return the historical event time, in milliseconds.
+	 */
+	@Override
+	public long getHistoricalEventTime(final int index) {
+		return mHistoricalEventTime[index];
+	}
+
+	@Override
+	public float getTranslationX() {
+		return mTranslationX;
+	}
+
+	@Override
+	public float getTranslationY() {
+		return mTranslationY;
+	}
+
+	@Override
+	public int getWidth() {
+		return mWidth;
+	}
+
+	@Override
+	public int getHeight() {
+		return mHeight;
+	}
+}
@@ -0,0 +1,59 @@
+package com.tumblr.backboard.imitator;
+
+/**
+ * Estimates velocity from the kinetic energy imparted by each pair of consecutive samples, which
+ * favors the most recent motion and is robust against a finger slowing down just before release.
+ * This is the same strategy as the platform's impulse <code>android.view.VelocityTracker</code>.
+ */
+public class ImpulseVelocityEstimator extends VelocityEstimator {
+
+	/**
+	 * Constructor. Uses {@link #DEFAULT_CAPACITY}.
+	 */
+	public ImpulseVelocityEstimator() {
+		super();
+	}
+
+	/**
+	 * Constructor.
+	 *
+	 * @param capacity
+	 * 		the number of samples to keep.
+	 */
+	public ImpulseVelocityEstimator(final int capacity) {
+		super(capacity);
+	}
+
+	/**
+	 * @param work
+	 * 		the kinetic energy, with the sign of the direction of motion.
+	 * @return the velocity with the given kinetic energy (assuming unit mass).
+	 */
+	private static double kineticEnergyToVelocity(final double work) {
+		return (work < 0 ? -1 : 1) * Math.sqrt(2 * Math.abs(work));
+	}
+
+	@Override
+	protected float computeVelocity(final int count) {
+		double work = 0;
+
+		// oldest to newest
+		for (int i = count - 1; i > 0; i--) {
+			final long dt = getTime(i - 1) - getTime(i);
+
+			if (dt > 0) {
+				final double previousVelocity = kineticEnergyToVelocity(work);
+				final double velocity = (getValue(i - 1) - getValue(i)) * MILLISECONDS_PER_SECOND / dt;
+
+				work += (velocity - previousVelocity) * Math.abs(velocity);
+
+				if (i == count - 1) {
+					// the first segment starts from rest
+					work /= 2;
+				}
+			}
+		}
+
+		return (float) kineticEnergyToVelocity(work);
+	}
+}
@@ -0,0 +1,82 @@
+package com.tumblr.backboard.imitator;
+
+/**
+ * Fits a quadratic to the recent samples with least squares and returns its slope at the newest
+ * sample. Falls back to a linear fit when there are too few samples or the quadratic fit is
+ * degenerate. This is the same strategy as the platform's default
+ * <code>android.view.VelocityTracker</code>.
+ */
+public class LeastSquaresVelocityEstimator extends VelocityEstimator {
+
+	/**
+	 * Determinants smaller than this are treated as singular.
+	 */
+	private static final double EPSILON = 1e-12;
+
+	/**
+	 * Constructor. Uses {@link #DEFAULT_CAPACITY}.
+	 */
+	public LeastSquaresVelocityEstimator() {
+		super();
+	}
+
+	/**
+	 * Constructor.
+	 *
+	 * @param capacity
+	 * 		the number of samples to keep.
+	 */
+	public LeastSquaresVelocityEstimator(final int capacity) {
+		super(capacity);
+	}
+
+	@Override
+	protected float computeVelocity(final int count) {
+		// work relative to the newest sample to keep the sums small
+		final long newestTime = getTime(0);
+		final float newestValue = getValue(0);
+
+		double s1 = 0;
+		double s2 = 0;
+		double s3 = 0;
+		double s4 = 0;
+		double y0 = 0;
+		double y1 = 0;
+		double y2 = 0;
+
+		for (int i = 0; i < count; i++) {
+			final double t = (getTime(i) - newestTime) / MILLISECONDS_PER_SECOND;
+			final double x = getValue(i) - newestValue;
+			final double tt = t * t;
+
+			s1 += t;
+			s2 += tt;
+			s3 += tt * t;
+			s4 += tt * tt;
+			y0 += x;
+			y1 += x * t;
+			y2 += x * tt;
+		}
+
+		final double s0 = count;
+
+		if (count > 2) {
+			final double det = s0 * (s2 * s4 - s3 * s3) - s1 * (s1 * s4 - s3 * s2) + s2 * (s1 * s3 - s2 * s2);
+
+			if (Math.abs(det) > EPSILON) {
+				// Cramer's rule for the linear coefficient
+				final double detB = s0 * (y1 * s4 - s3 * y2) - y0 * (s1 * s4 - s3 * s2) + s2 * (s1 * y2 - y1 * s2);
+
+				return (float) (detB / det);
+			}
+		}
+
+		final double det = s0 * s2 - s1 * s1;
+
+		if (Math.abs(det) > EPSILON) {
+			return (float) ((s0 * y1 - s1 * y0) / det);
+		}
+
+		return 0;
+	}
+}
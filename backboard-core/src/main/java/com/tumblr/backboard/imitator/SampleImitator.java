@@ -0,0 +1,517 @@
+package com.tumblr.backboard.imitator;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.facebook.rebound.Spring;
+import com.tumblr.backboard.InputSample;
+import com.tumblr.backboard.MotionAxis;
+
+/**
+ * Maps {@link InputSample}s to a {@link com.facebook.rebound.Spring}. This is the logic of
+ * <code>EventImitator</code> and <code>MotionImitator</code> without Android: the mapping of
+ * actions to {@link #onDown(InputSample)}, {@link #onMove(float, float, float, float, InputSample)}
+ * and {@link #onUp(InputSample)}, velocity estimation and prediction, history replay, and the
+ * tracking and follow strategies. The Android imitators extend it and route those callbacks to
+ * their <code>MotionEvent</code> methods.
+ * <p>
+ * With an axis, {@link #imitate(InputSample)} tracks the value of that axis relative to the
+ * target, like <code>MotionImitator</code>.
+ */
+public class SampleImitator extends Imitator {
+
+	/**
+	 * Used to convert between velocities per second, which {@link VelocityEstimator} returns, and
+	 * per millisecond.
+	 */
+	private static final float MILLISECONDS_PER_SECOND = 1000f;
+
+	/**
+	 * The axis to imitate, if any.
+	 */
+	@Nullable
+	protected MotionAxis mAxis;
+
+	/**
+	 * Used internally to keep track of the initial down position.
+	 */
+	protected float mDownPosition;
+
+	/**
+	 * The offset between the view left/right location and the desired "center" of the view.
+	 */
+	protected float mOffset;
+
+	/**
+	 * Whether or not every historical sample of an {@link InputSample#ACTION_MOVE} is passed to
+	 * {@link #onMove(float, float, float, float, InputSample)}, instead of only the newest one.
+	 */
+	protected boolean mReplayHistory;
+
+	/**
+	 * Whether or not velocities set on the spring are in units per second, instead of units per
+	 * millisecond.
+	 */
+	protected boolean mVelocityPerSecond;
+
+	/**
+	 * Estimates the velocity to set on the spring. Subclasses that know which value they are
+	 * tracking feed it samples; if it is <code>null</code> or has too few samples, the velocity is
+	 * computed from the change in value of the current event.
+	 */
+	@Nullable
+	protected VelocityEstimator mVelocityEstimator;
+
+	/**
+	 * Optionally extrapolates the tracked value to the next frame while the user is moving. Requires
+	 * {@link #mVelocityEstimator}.
+	 */
+	@Nullable
+	protected TouchPredictor mTouchPredictor;
+
+	/**
+	 * Constructor. Uses {@link #TRACK_ABSOLUTE} and {@link #FOLLOW_EXACT}.
+	 *
+	 * @param spring
+	 * 		the spring to use.
+	 * @param axis
+	 * 		the axis to track.
+	 */
+	public SampleImitator(@NonNull final Spring spring, @NonNull final MotionAxis axis) {
+		this(spring, axis, spring.getEndValue(), TRACK_ABSOLUTE, FOLLOW_EXACT);
+	}
+
+	/**
+	 * Constructor.
+	 *
+	 * @param spring
+	 * 		the spring to use.
+	 * @param axis
+	 * 		the axis to track.
+	 * @param restValue
+	 * 		the rest value for the spring.
+	 * @param trackStrategy
+	 * 		the tracking strategy.
+	 * @param followStrategy
+	 * 		the follow strategy.
+	 */
+	public SampleImitator(@NonNull final Spring spring, @NonNull final MotionAxis axis, final double restValue,
+	                      final int trackStrategy, final int followStrategy) {
+		super(spring, restValue, trackStrategy, followStrategy);
+		mAxis = axis;
+		mVelocityEstimator = new LeastSquaresVelocityEstimator();
+	}
+
+	/**
+	 * Constructor. The spring must be set with {@link #setSpring(Spring)}.
+	 *
+	 * @param axis
+	 * 		the axis to track.
+	 * @param restValue
+	 * 		the rest value for the spring.
+	 * @param trackStrategy
+	 * 		the tracking strategy.
+	 * @param followStrategy
+	 * 		the follow strategy.
+	 */
+	public SampleImitator(@NonNull final MotionAxis axis, final double restValue, final int trackStrategy,
+	                      final int followStrategy) {
+		super(restValue, trackStrategy, followStrategy);
+		mAxis = axis;
+		mVelocityEstimator = new LeastSquaresVelocityEstimator();
+	}
+
+	/**
+	 * Constructor, without an axis or a velocity estimator.
+	 *
+	 * @param spring
+	 * 		the spring to use.
+	 * @param restValue
+	 * 		the rest value for the spring.
+	 * @param trackStrategy
+	 * 		the tracking strategy.
+	 * @param followStrategy
+	 * 		the follow strategy.
+	 */
+	protected SampleImitator(@NonNull final Spring spring, final double restValue, final int trackStrategy,
+	                         final int followStrategy) {
+		super(spring, restValue, trackStrategy, followStrategy);
+	}
+
+	/**
+	 * Constructor, without an axis or a velocity estimator. The spring must be set with
+	 * {@link #setSpring(Spring)}.
+	 *
+	 * @param restValue
+	 * 		the rest value for the spring.
+	 * @param trackStrategy
+	 * 		the tracking strategy.
+	 * @param followStrategy
+	 * 		the follow strategy.
+	 */
+	protected SampleImitator(final double restValue, final int trackStrategy, final int followStrategy) {
+		super(restValue, trackStrategy, followStrategy);
+	}
+
+	/**
+	 * Maps a sample on {@link #mAxis} to the spring: tracks the value relative to the target,
+	 * feeds the velocity estimator, and calls {@link #onDown(InputSample)},
+	 * {@link #onMove(float, float, float, float, InputSample)} or {@link #onUp(InputSample)}.
+	 *
+	 * @param sample
+	 * 		the sample to imitate.
+	 * @throws IllegalStateException
+	 * 		if there is no axis.
+	 */
+	public void imitate(@NonNull final InputSample sample) {
+		final MotionAxis axis = mAxis;
+
+		if (axis == null) {
+			throw new IllegalStateException("no axis to imitate");
+		}
+
+		final float viewValue = axis.getViewValue(sample);
+		final float eventValue = axis.getValue(sample);
+		mOffset = axis.getOffset(sample);
+
+		final float offset = viewValue + mOffset;
+		final int historySize = sample.getHistorySize();
+
+		if (mReplayHistory && historySize > 0 && sample.getAction() == InputSample.ACTION_MOVE) {
+			replay(axis, offset, eventValue, sample);
+			return;
+		}
+
+		if (mVelocityEstimator != null) {
+			if (sample.getAction() == InputSample.ACTION_DOWN) {
+				mVelocityEstimator.clear();
+			}
+
+			// event coordinates are relative to the view, so track the position in the parent
+			for (int i = 0; i < historySize; i++) {
+				mVelocityEstimator.addSample(sample.getHistoricalEventTime(i),
+						offset + axis.getHistoricalValue(sample, i));
+			}
+
+			mVelocityEstimator.addSample(sample.getEventTime(), offset + eventValue);
+		}
+
+		final float value = eventValue + predict(sample);
+
+		if (historySize > 0) {
+			final float historicalValue = axis.getOldestValue(sample);
+
+			imitate(offset, value, value - historicalValue, sample);
+		} else {
+			imitate(offset, value, 0, sample);
+		}
+	}
+
+	/**
+	 * Passes each historical sample, and then the current one, to
+	 * {@link #onMove(float, float, float, float, InputSample)}, feeding the velocity estimator as
+	 * it goes so that each step sees the velocity at that sample's time. The spring itself is not
+	 * advanced: its looper integrates the time the samples span on the next frame.
+	 *
+	 * @param axis
+	 * 		the axis to track
+	 * @param offset
+	 * 		the value offset
+	 * @param eventValue
+	 * 		the current value
+	 * @param sample
+	 * 		the sample, which must have history
+	 */
+	private void replay(@NonNull final MotionAxis axis, final float offset, final float eventValue,
+	                    @NonNull final InputSample sample) {
+		final int historySize = sample.getHistorySize();
+
+		float previousValue = axis.getOldestValue(sample);
+		long previousTime = sample.getHistoricalEventTime(0);
+
+		for (int i = 0; i <= historySize; i++) {
+			final float value;
+			final long time;
+
+			if (i < historySize) {
+				value = axis.getHistoricalValue(sample, i);
+				time = sample.getHistoricalEventTime(i);
+			} else {
+				value = eventValue;
+				time = sample.getEventTime();
+			}
+
+			if (mVelocityEstimator != null) {
+				mVelocityEstimator.addSample(time, offset + value);
+			}
+
+			if (i < historySize) {
+				onMove(offset, value, value - previousValue, time - previousTime, sample);
+			} else {
+				final float predictedValue = value + predict(sample);
+				onMove(offset, predictedValue, predictedValue - previousValue, time - previousTime, sample);
+			}
+
+			previousValue = value;
+			previousTime = time;
+		}
+	}
+
+	/**
+	 * @param sample
+	 * 		the sample, after it has been added to the velocity estimator
+	 * @return the displacement predicted by {@link #mTouchPredictor} while moving, otherwise 0
+	 */
+	private float predict(@NonNull final InputSample sample) {
+		if (mTouchPredictor != null && mVelocityEstimator != null
+				&& sample.getAction() == InputSample.ACTION_MOVE) {
+			return mTouchPredictor.getDisplacement(mVelocityEstimator.getVelocity(), sample.getEventTime());
+		}
+
+		return 0;
+	}
+
+	/**
+	 * Calls {@link #onDown(InputSample)}, {@link #onMove(float, float, float, float, InputSample)}
+	 * or {@link #onUp(InputSample)}, depending on the action of the sample.
+	 *
+	 * @param offset
+	 * 		the value offset
+	 * @param value
+	 * 		the current value
+	 * @param delta
+	 * 		the change in the value
+	 * @param sample
+	 * 		the sample
+	 */
+	protected void imitate(final float offset, final float value, final float delta, @NonNull final InputSample sample) {
+		switch (sample.getAction()) {
+		case InputSample.ACTION_DOWN:
+			onDown(sample);
+
+		case InputSample.ACTION_MOVE:
+			if (sample.getHistorySize() > 0) {
+				onMove(offset, value, delta, sample.getEventTime() - sample.getHistoricalEventTime(0), sample);
+			} else {
+				onMove(offset, value, delta, 0, sample);
+			}
+
+			break;
+		default:
+		case InputSample.ACTION_UP:
+			if (sample.getAction() == InputSample.ACTION_UP && mSpring != null && mFollowStrategy == FOLLOW_EXACT
+					&& mVelocityEstimator != null && mVelocityEstimator.getSampleCount() > 1) {
+				// hand the finger's velocity to the spring, since it may have drifted since the last move
+				mSpring.setVelocity(toSpringVelocity(mVelocityEstimator.getVelocity()));
+			}
+
+			onUp(sample);
+
+			break;
+		}
+	}
+
+	/**
+	 * Called when the user touches ({@link InputSample#ACTION_DOWN}).
+	 *
+	 * @param sample
+	 * 		the sample
+	 */
+	protected void onDown(@NonNull final InputSample sample) {
+		constrainSpring();
+
+		if (mAxis != null) {
+			mDownPosition = mAxis.getValue(sample) + mOffset;
+		}
+	}
+
+	/**
+	 * Called when the user moves their finger ({@link InputSample#ACTION_MOVE}).
+	 *
+	 * @param offset
+	 * 		the value offset
+	 * @param value
+	 * 		the current value
+	 * @param delta
+	 * 		the change in the value
+	 * @param dt
+	 * 		the change in time
+	 * @param sample
+	 * 		the sample
+	 */
+	protected void onMove(final float offset, final float value, final float delta, final float dt,
+	                      @NonNull final InputSample sample) {
+		if (mTrackStrategy == TRACK_DELTA) {
+			mimeSpring(offset - mDownPosition, value, delta, dt);
+		} else {
+			mimeSpring(offset, value, delta, dt);
+		}
+	}
+
+	/**
+	 * Called when the user releases their finger ({@link InputSample#ACTION_UP}), or the gesture
+	 * is canceled.
+	 *
+	 * @param sample
+	 * 		the sample
+	 */
+	protected void onUp(@NonNull final InputSample sample) {
+		releaseSpring();
+	}
+
+	/**
+	 * Stops the spring when the user touches, if it follows exactly.
+	 */
+	protected void constrainSpring() {
+		if (mSpring != null && mFollowStrategy == FOLLOW_EXACT) {
+			mSpring.setVelocity(0);
+		}
+	}
+
+	/**
+	 * Maps a value to the end value of the spring, and also to its current value and velocity if
+	 * it follows exactly.
+	 *
+	 * @param offset
+	 * 		the value offset
+	 * @param value
+	 * 		the current value
+	 * @param delta
+	 * 		the change in the value
+	 * @param dt
+	 * 		the change in time
+	 */
+	protected void mimeSpring(final float offset, final float value, final float delta, final float dt) {
+		if (mSpring != null) {
+			mSpring.setEndValue(mapToSpring(offset + value));
+
+			if (mFollowStrategy == FOLLOW_EXACT) {
+				mSpring.setCurrentValue(mSpring.getEndValue());
+
+				updateVelocity(delta, dt);
+			}
+		}
+	}
+
+	/**
+	 * Returns the spring to its rest value.
+	 */
+	protected void releaseSpring() {
+		if (mSpring != null) {
+			mSpring.setEndValue(mRestValue);
+		}
+	}
+
+	/**
+	 * Sets the velocity of the spring from {@link #mVelocityEstimator}, falling back to
+	 * <code>delta / dt</code> if there is no estimate, in the units of
+	 * {@link #setVelocityPerSecond(boolean)}.
+	 *
+	 * @param delta
+	 * 		the change in the value
+	 * @param dt
+	 * 		the change in time, in milliseconds
+	 */
+	protected void updateVelocity(final float delta, final float dt) {
+		if (mVelocityEstimator != null && mVelocityEstimator.getSampleCount() > 1) {
+			mSpring.setVelocity(toSpringVelocity(mVelocityEstimator.getVelocity()));
+		} else if (dt > 0) {
+			mSpring.setVelocity(toSpringVelocity(delta * MILLISECONDS_PER_SECOND / dt));
+		}
+	}
+
+	/**
+	 * @param velocity
+	 * 		a velocity, in units per second.
+	 * @return the velocity to set on the spring, in the units of {@link #setVelocityPerSecond(boolean)}.
+	 */
+	private float toSpringVelocity(final float velocity) {
+		return mVelocityPerSecond ? velocity : velocity / MILLISECONDS_PER_SECOND;
+	}
+
+	@Override
+	protected double mapToSpring(final float motionValue) {
+		return motionValue;
+	}
+
+	@Nullable
+	public MotionAxis getAxis() {
+		return mAxis;
+	}
+
+	/**
+	 * When enabled, each historical sample in an {@link InputSample#ACTION_MOVE} is passed to
+	 * {@link #onMove(float, float, float, float, InputSample)} in timestamp order, so the end value
+	 * and velocity of the spring step through every sample rather than jumping to the newest one.
+	 * Only the end value, and the current value and velocity with {@link #FOLLOW_EXACT}, are set;
+	 * the spring is still integrated by its looper, once per frame. This is useful for high-rate touch panels and styluses, which batch
+	 * many samples into each event. Disabled by default.
+	 *
+	 * @param replayHistory
+	 * 		whether or not to replay historical samples
+	 * @return this object for chaining.
+	 */
+	@NonNull
+	public SampleImitator setReplayHistory(final boolean replayHistory) {
+		mReplayHistory = replayHistory;
+		return this;
+	}
+
+	public boolean isReplayHistory() {
+		return mReplayHistory;
+	}
+
+	/**
+	 * With {@link #FOLLOW_EXACT}, the velocity of the imitatee is set on the spring in units per
+	 * millisecond by default, as it always has been. When enabled, it is set in units per second,
+	 * which is the unit that {@link Spring} integrates velocities in, so a released spring keeps
+	 * moving at the speed of the finger. Springs released this way may need more friction to avoid
+	 * overshooting.
+	 *
+	 * @param velocityPerSecond
+	 * 		whether or not to set velocities in units per second.
+	 * @return this object for chaining.
+	 */
+	@NonNull
+	public SampleImitator setVelocityPerSecond(final boolean velocityPerSecond) {
+		mVelocityPerSecond = velocityPerSecond;
+		return this;
+	}
+
+	public boolean isVelocityPerSecond() {
+		return mVelocityPerSecond;
+	}
+
+	@Nullable
+	public VelocityEstimator getVelocityEstimator() {
+		return mVelocityEstimator;
+	}
+
+	/**
+	 * @param velocityEstimator
+	 * 		the estimator to use, or <code>null</code> to compute the velocity from each event alone.
+	 * @return this object for chaining
+	 */
+	@NonNull
+	public SampleImitator setVelocityEstimator(@Nullable final VelocityEstimator velocityEstimator) {
+		mVelocityEstimator = velocityEstimator;
+		return this;
+	}
+
+	@Nullable
+	public TouchPredictor getTouchPredictor() {
+		return mTouchPredictor;
+	}
+
+	/**
+	 * @param touchPredictor
+	 * 		extrapolates the tracked value while moving to reduce latency, or <code>null</code> to
+	 * 		use the sampled value. Requires {@link #mVelocityEstimator}.
+	 * @return this object for chaining
+	 */
+	@NonNull
+	public SampleImitator setTouchPredictor(@Nullable final TouchPredictor touchPredictor) {
+		mTouchPredictor = touchPredictor;
+		return this;
+	}
+}
@@ -0,0 +1,282 @@
+package com.tumblr.backboard.imitator;
+
+import androidx.annotation.NonNull;
+
+import java.util.Arrays;
+
+/**
+ * A uniform grid of 2D snap targets, for finding the target nearest to a point within a radius
+ * without visiting every target. Targets are bucketed by cell once, in {@link #set(float[], float[], int)},
+ * which should be called again only when the targets move (e.g. on layout). A query only visits
+ * the cells that overlap its radius, so with a cell size close to the query radius, it checks a
+ * handful of targets however many there are.
+ * <p>
+ * The last query is remembered, so that the imitators of the x and y axes of one view, which ask
+ * for the same point, only search once. Queries do not allocate.
+ * <p>
+ * Not thread safe.
+ */
+public class SnapGrid {
+
+	/**
+	 * Limits the number of cells to this many per target, growing the cell size if needed.
+	 */
+	private static final int MAX_CELLS_PER_TARGET = 4;
+	/**
+	 * The minimum cell limit, so that a few targets far apart still get a useful grid.
+	 */
+	private static final int MIN_MAX_CELLS = 16;
+
+	private final float mPreferredCellSize;
+
+	@NonNull
+	private float[] mX = new float[0];
+	@NonNull
+	private float[] mY = new float[0];
+	private int mCount;
+
+	private float mCellSize;
+	private float mMinX;
+	private float mMinY;
+	private int mColumns;
+	private int mRows;
+	/**
+	 * The index into {@link #mCellTargets} of the first target of each cell, followed by the total.
+	 */
+	@NonNull
+	private int[] mCellStarts = new int[1];
+	/**
+	 * The indices of the targets, ordered by cell.
+	 */
+	@NonNull
+	private int[] mCellTargets = new int[0];
+
+	private boolean mHasLastQuery;
+	private float mLastQueryX;
+	private float mLastQueryY;
+	private float mLastQueryRadius;
+	private int mLastResult;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param cellSize
+	 * 		the size of each cell, greater than 0. Usually the radius of the queries.
+	 */
+	public SnapGrid(final float cellSize) {
+		if (cellSize <= 0) {
+			throw new IllegalArgumentException("cellSize must be positive");
+		}
+
+		mPreferredCellSize = cellSize;
+		mCellSize = cellSize;
+	}
+
+	/**
+	 * Replaces the targets and rebuilds the grid. The coordinates are copied.
+	 *
+	 * @param x
+	 * 		the x coordinates of the targets.
+	 * @param y
+	 * 		the y coordinates of the targets.
+	 * @param count
+	 * 		the number of targets.
+	 */
+	public void set(@NonNull final float[] x, @NonNull final float[] y, final int count) {
+		if (mX.length < count) {
+			mX = new float[count];
+			mY = new float[count];
+			mCellTargets = new int[count];
+		}
+
+		System.arraycopy(x, 0, mX, 0, count);
+		System.arraycopy(y, 0, mY, 0, count);
+		mCount = count;
+		mHasLastQuery = false;
+
+		rebuild();
+	}
+
+	/**
+	 * Buckets the targets by cell, with a counting sort.
+	 */
+	private void rebuild() {
+		final int count = mCount;
+
+		if (count == 0) {
+			mColumns = 0;
+			mRows = 0;
+			mCellStarts[0] = 0;
+			return;
+		}
+
+		float minX = mX[0];
+		float maxX = mX[0];
+		float minY = mY[0];
+		float maxY = mY[0];
+
+		for (int i = 1; i < count; i++) {
+			minX = Math.min(minX, mX[i]);
+			maxX = Math.max(maxX, mX[i]);
+			minY = Math.min(minY, mY[i]);
+			maxY = Math.max(maxY, mY[i]);
+		}
+
+		final int maxCells = Math.max(MIN_MAX_CELLS, count * MAX_CELLS_PER_TARGET);
+		float cellSize = mPreferredCellSize;
+
+		while ((long) columns(maxX - minX, cellSize) * columns(maxY - minY, cellSize) > maxCells) {
+			cellSize *= 2;
+		}
+
+		mCellSize = cellSize;
+		mMinX = minX;
+		mMinY = minY;
+		mColumns = columns(maxX - minX, cellSize);
+		mRows = columns(maxY - minY, cellSize);
+
+		final int cells = mColumns * mRows;
+
+		if (mCellStarts.length < cells + 1) {
+			mCellStarts = new int[cells + 1];
+		} else {
+			Arrays.fill(mCellStarts, 0, cells + 1, 0);
+		}
+
+		// count the targets of each cell, offset by one
+		for (int i = 0; i < count; i++) {
+			mCellStarts[cellOf(i) + 1]++;
+		}
+
+		// then accumulate into start indices
+		for (int cell = 0; cell < cells; cell++) {
+			mCellStarts[cell + 1] += mCellStarts[cell];
+		}
+
+		// place each target, advancing the start of its cell, which then shifts back
+		for (int i = 0; i < count; i++) {
+			mCellTargets[mCellStarts[cellOf(i)]++] = i;
+		}
+
+		for (int cell = cells; cell > 0; cell--) {
+			mCellStarts[cell] = mCellStarts[cell - 1];
+		}
+
+		mCellStarts[0] = 0;
+	}
+
+	/**
+	 * @param extent
+	 * 		the extent of the targets on one axis.
+	 * @param cellSize
+	 * 		the cell size.
+	 * @return the number of cells needed to cover the extent.
+	 */
+	private static int columns(final float extent, final float cellSize) {
+		return (int) (extent / cellSize) + 1;
+	}
+
+	/**
+	 * @param index
+	 * 		the target index.
+	 * @return the cell of the target.
+	 */
+	private int cellOf(final int index) {
+		final int column = Math.min(mColumns - 1, (int) ((mX[index] - mMinX) / mCellSize));
+		final int row = Math.min(mRows - 1, (int) ((mY[index] - mMinY) / mCellSize));
+
+		return row * mColumns + column;
+	}
+
+	/**
+	 * @param x
+	 * 		the x coordinate of the point.
+	 * @param y
+	 * 		the y coordinate of the point.
+	 * @param radius
+	 * 		the maximum distance to a target.
+	 * @return the index of the target nearest to the point and closer than the radius, or -1 if
+	 * there is none.
+	 */
+	public int findNearest(final float x, final float y, final float radius) {
+		if (mHasLastQuery && x == mLastQueryX && y == mLastQueryY && radius == mLastQueryRadius) {
+			return mLastResult;
+		}
+
+		final int result = search(x, y, radius);
+
+		mHasLastQuery = true;
+		mLastQueryX = x;
+		mLastQueryY = y;
+		mLastQueryRadius = radius;
+		mLastResult = result;
+
+		return result;
+	}
+
+	/**
+	 * Visits the cells that overlap the square around the point.
+	 */
+	private int search(final float x, final float y, final float radius) {
+		if (mCount == 0) {
+			return -1;
+		}
+
+		final int firstColumn = Math.max(0, (int) Math.floor((x - radius - mMinX) / mCellSize));
+		final int lastColumn = Math.min(mColumns - 1, (int) Math.floor((x + radius - mMinX) / mCellSize));
+		final int firstRow = Math.max(0, (int) Math.floor((y - radius - mMinY) / mCellSize));
+		final int lastRow = Math.min(mRows - 1, (int) Math.floor((y + radius - mMinY) / mCellSize));
+
+		float minDistSq = radius * radius;
+		int nearest = -1;
+
+		for (int row = firstRow; row <= lastRow; row++) {
+			for (int column = firstColumn; column <= lastColumn; column++) {
+				final int cell = row * mColumns + column;
+
+				for (int i = mCellStarts[cell]; i < mCellStarts[cell + 1]; i++) {
+					final int target = mCellTargets[i];
+					final float dx = mX[target] - x;
+					final float dy = mY[target] - y;
+					final float distSq = dx * dx + dy * dy;
+
+					if (distSq < minDistSq) {
+						minDistSq = distSq;
+						nearest = target;
+					}
+				}
+			}
+		}
+
+		return nearest;
+	}
+
+	/**
+	 * @return the number of targets.
+	 */
+	public int size() {
+		return mCount;
+	}
+
+	/**
+	 * <i>Note that this method does not check the validity of</i> <code>index</code>.
+	 *
+	 * @param index
+	 * 		the target index.
+	 * @return the x coordinate of the target.
+	 */
+	public float getX(final int index) {
+		return mX[index];
+	}
+
+	/**
+	 * <i>Note that this method does not check the validity of</i> <code>index</code>.
+	 *
+	 * @param index
+	 * 		the target index.
+	 * @return the y coordinate of the target.
+	 */
+	public float getY(final int index) {
+		return mY[index];
+	}
+}
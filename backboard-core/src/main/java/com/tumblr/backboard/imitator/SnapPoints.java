@@ -0,0 +1,127 @@
+package com.tumblr.backboard.imitator;
+
+import androidx.annotation.NonNull;
+
+import com.tumblr.backboard.physics.FlingDecay;
+
+import java.util.Arrays;
+
+/**
+ * A sorted set of values to snap to on one axis. The snap point nearest to a value is found by
+ * binary search, and the one to move to after a fling is the snap point nearest to where the fling
+ * would coast to, projected with a {@link FlingDecay}.
+ * <p>
+ * Immutable, except for the projection, which is reused so that selecting a snap point does not
+ * allocate. Not thread safe.
+ */
+public class SnapPoints {
+
+	/**
+	 * Allows a fling to skip any number of snap points.
+	 */
+	public static final int NO_MAX_SKIP = -1;
+
+	@NonNull
+	private final double[] mValues;
+
+	@NonNull
+	private final FlingDecay mProjection = new FlingDecay();
+
+	/**
+	 * Constructor.
+	 *
+	 * @param values
+	 * 		the values to snap to, in any order. They are copied.
+	 */
+	public SnapPoints(@NonNull final double... values) {
+		mValues = values.clone();
+		Arrays.sort(mValues);
+	}
+
+	/**
+	 * @return the number of snap points.
+	 */
+	public int size() {
+		return mValues.length;
+	}
+
+	/**
+	 * <i>Note that this method does not check the validity of</i> <code>index</code>.
+	 *
+	 * @param index
+	 * 		the index of the snap point.
+	 * @return the snap point.
+	 */
+	public double get(final int index) {
+		return mValues[index];
+	}
+
+	/**
+	 * @return a copy of the snap points, in ascending order.
+	 */
+	@NonNull
+	public double[] toArray() {
+		return mValues.clone();
+	}
+
+	/**
+	 * Finds the nearest snap point by binary search. Ties go to the lower snap point.
+	 *
+	 * @param value
+	 * 		a value.
+	 * @return the index of the snap point nearest to the value, or -1 if there are none.
+	 */
+	public int getNearestIndex(final double value) {
+		final double[] values = mValues;
+
+		if (values.length == 0) {
+			return -1;
+		}
+
+		final int search = Arrays.binarySearch(values, value);
+
+		if (search >= 0) {
+			return search;
+		}
+
+		// the first snap point greater than the value
+		final int insertion = -search - 1;
+
+		if (insertion == 0) {
+			return 0;
+		} else if (insertion == values.length) {
+			return values.length - 1;
+		}
+
+		return value - values[insertion - 1] <= values[insertion] - value ? insertion - 1 : insertion;
+	}
+
+	/**
+	 * @param position
+	 * 		the position at release.
+	 * @param velocity
+	 * 		the velocity at release, in units per second.
+	 * @param friction
+	 * 		the friction used to project the position from the velocity, greater than 0.
+	 * @param startIndex
+	 * 		the index of the snap point nearest to where the drag started, or -1 to use the one
+	 * 		nearest to the position.
+	 * @param maxSkip
+	 * 		the maximum number of snap points the fling can advance from the start index, or
+	 * 		{@link #NO_MAX_SKIP}.
+	 * @return the index of the snap point to move to, or -1 if there are none.
+	 */
+	public int getTargetIndex(final double position, final double velocity, final double friction,
+	                          final int startIndex, final int maxSkip) {
+		final double projected = mProjection.set(position, velocity, friction).getRestPosition();
+
+		int index = getNearestIndex(projected);
+
+		if (index >= 0 && maxSkip >= 0) {
+			final int start = startIndex >= 0 ? startIndex : getNearestIndex(position);
+			index = Math.max(start - maxSkip, Math.min(start + maxSkip, index));
+		}
+
+		return index;
+	}
+}
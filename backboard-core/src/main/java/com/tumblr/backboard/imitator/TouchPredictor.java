@@ -0,0 +1,192 @@
+package com.tumblr.backboard.imitator;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+/**
+ * Extrapolates a touch position to the time it will be drawn, to hide the latency between when
+ * an event is sampled and when the next frame reaches the screen.
+ * <p>
+ * The prediction is linear in the velocity from a {@link VelocityEstimator}, looks ahead to the
+ * expected next frame (at most {@link #getHorizon()} past the event), and never moves the value
+ * more than {@link #getMaxOvershoot()}. The next frame is expected one {@link #getFrameInterval()}
+ * from now, which should match the display: <code>MotionImitator</code> sets it from the refresh
+ * rate of the view's display on every touch, and {@link #setRefreshRate(float)} sets it directly.
+ * "Now" is read from {@link System#nanoTime()}, unless a {@link Clock} is set, e.g. to replay
+ * recorded events in simulated time.
+ */
+public class TouchPredictor {
+
+	/**
+	 * Tells the predictor the current time.
+	 */
+	public interface Clock {
+		/**
+		 * @return the current time, in milliseconds, in the time base of event times.
+		 */
+		long uptimeMillis();
+	}
+
+	/**
+	 * The default frame interval, in milliseconds, of a 60 Hz display. Used until the refresh rate
+	 * is known.
+	 */
+	public static final long DEFAULT_FRAME_INTERVAL = 16;
+
+	/**
+	 * The default horizon, in milliseconds.
+	 */
+	public static final long DEFAULT_HORIZON = 2 * DEFAULT_FRAME_INTERVAL;
+
+	/**
+	 * The default maximum overshoot, in pixels.
+	 */
+	public static final float DEFAULT_MAX_OVERSHOOT = 48;
+
+	/**
+	 * Used to convert the per-second velocity to per-millisecond, and a refresh rate to a frame
+	 * interval.
+	 */
+	private static final float MILLISECONDS_PER_SECOND = 1000f;
+
+	private static final long NANOSECONDS_PER_MILLISECOND = 1000000;
+
+	private long mFrameInterval;
+	private long mHorizon;
+	private float mMaxOvershoot;
+	@Nullable
+	private Clock mClock;
+
+	/**
+	 * Constructor. Uses {@link #DEFAULT_FRAME_INTERVAL}, {@link #DEFAULT_HORIZON} and
+	 * {@link #DEFAULT_MAX_OVERSHOOT}.
+	 */
+	public TouchPredictor() {
+		this(DEFAULT_FRAME_INTERVAL, DEFAULT_HORIZON, DEFAULT_MAX_OVERSHOOT);
+	}
+
+	/**
+	 * Constructor.
+	 *
+	 * @param frameInterval
+	 * 		the time between frames, in milliseconds.
+	 * @param horizon
+	 * 		the furthest to look ahead of an event, in milliseconds.
+	 * @param maxOvershoot
+	 * 		the furthest a predicted value can be from the sampled value.
+	 */
+	public TouchPredictor(final long frameInterval, final long horizon, final float maxOvershoot) {
+		mFrameInterval = frameInterval;
+		mHorizon = horizon;
+		mMaxOvershoot = maxOvershoot;
+	}
+
+	/**
+	 * @param velocity
+	 * 		the velocity at the time of the event, in units per second.
+	 * @param eventTime
+	 * 		the time of the event, in milliseconds in the time base of the {@link Clock}, or by default
+	 * 		of {@link System#nanoTime()}. On Android, this is the same clock as
+	 * 		<code>SystemClock.uptimeMillis()</code>, which <code>MotionEvent</code> times use.
+	 * @return the amount to add to the sampled value to predict its value at the next frame.
+	 */
+	public float getDisplacement(final float velocity, final long eventTime) {
+		final long now = mClock != null ? mClock.uptimeMillis() : System.nanoTime() / NANOSECONDS_PER_MILLISECOND;
+
+		return getDisplacement(velocity, eventTime, now);
+	}
+
+	/**
+	 * @param velocity
+	 * 		the velocity at the time of the event, in units per second.
+	 * @param eventTime
+	 * 		the time of the event, in milliseconds.
+	 * @param now
+	 * 		the current time, in the same time base as <code>eventTime</code>.
+	 * @return the amount to add to the sampled value to predict its value at the next frame.
+	 */
+	public float getDisplacement(final float velocity, final long eventTime, final long now) {
+		final long lead = Math.max(0, Math.min(now + mFrameInterval - eventTime, mHorizon));
+		final float displacement = velocity * lead / MILLISECONDS_PER_SECOND;
+
+		return Math.max(-mMaxOvershoot, Math.min(displacement, mMaxOvershoot));
+	}
+
+	public long getFrameInterval() {
+		return mFrameInterval;
+	}
+
+	/**
+	 * @param frameInterval
+	 * 		the time between frames, in milliseconds (e.g. from the display's refresh rate).
+	 * @return this object for chaining
+	 */
+	@NonNull
+	public TouchPredictor setFrameInterval(final long frameInterval) {
+		mFrameInterval = frameInterval;
+		return this;
+	}
+
+	/**
+	 * Sets the frame interval from the refresh rate of the display, e.g.
+	 * <code>Display.getRefreshRate()</code>. Rates that are not positive are ignored.
+	 *
+	 * @param refreshRate
+	 * 		the refresh rate of the display, in frames per second.
+	 * @return this object for chaining
+	 */
+	@NonNull
+	public TouchPredictor setRefreshRate(final float refreshRate) {
+		if (refreshRate > 0) {
+			mFrameInterval = Math.round(MILLISECONDS_PER_SECOND / refreshRate);
+		}
+
+		return this;
+	}
+
+	public long getHorizon() {
+		return mHorizon;
+	}
+
+	/**
+	 * @param horizon
+	 * 		the furthest to look ahead of an event, in milliseconds.
+	 * @return this object for chaining
+	 */
+	@NonNull
+	public TouchPredictor setHorizon(final long horizon) {
+		mHorizon = horizon;
+		return this;
+	}
+
+	public float getMaxOvershoot() {
+		return mMaxOvershoot;
+	}
+
+	/**
+	 * @param maxOvershoot
+	 * 		the furthest a predicted value can be from the sampled value.
+	 * @return this object for chaining
+	 */
+	@NonNull
+	public TouchPredictor setMaxOvershoot(final float maxOvershoot) {
+		mMaxOvershoot = maxOvershoot;
+		return this;
+	}
+
+	@Nullable
+	public Clock getClock() {
+		return mClock;
+	}
+
+	/**
+	 * @param clock
+	 * 		the clock to read the current time from, or <code>null</code> for {@link System#nanoTime()}.
+	 * @return this object for chaining
+	 */
+	@NonNull
+	public TouchPredictor setClock(@Nullable final Clock clock) {
+		mClock = clock;
+		return this;
+	}
+}
@@ -0,0 +1,170 @@
+package com.tumblr.backboard.imitator;
+
+/**
+ * Estimates the velocity of a single axis from a fixed-size ring of recent samples. Samples are
+ * kept across events, so the estimate does not depend on how many historical samples the
+ * platform happened to batch into each <code>android.view.MotionEvent</code>.
+ * <p>
+ * Subclasses pick the estimation strategy. No method allocates.
+ */
+public abstract class VelocityEstimator {
+
+	/**
+	 * The default number of samples to keep.
+	 */
+	public static final int DEFAULT_CAPACITY = 20;
+
+	/**
+	 * Samples older than this (relative to the newest sample) are ignored, in milliseconds.
+	 */
+	public static final long HORIZON = 100;
+
+	/**
+	 * Used to convert from milliseconds to seconds, since {@link com.facebook.rebound.Spring}
+	 * velocities are in units per second.
+	 */
+	protected static final float MILLISECONDS_PER_SECOND = 1000f;
+
+	/**
+	 * Sample times, in milliseconds.
+	 */
+	private final long[] mTimes;
+	/**
+	 * Sample values.
+	 */
+	private final float[] mValues;
+	/**
+	 * Index of the newest sample.
+	 */
+	private int mHead = -1;
+	/**
+	 * Number of valid samples.
+	 */
+	private int mCount;
+
+	/**
+	 * Constructor. Uses {@link #DEFAULT_CAPACITY}.
+	 */
+	protected VelocityEstimator() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Constructor.
+	 *
+	 * @param capacity
+	 * 		the number of samples to keep.
+	 */
+	protected VelocityEstimator(final int capacity) {
+		if (capacity < 2) {
+			throw new IllegalArgumentException("capacity must be at least 2");
+		}
+
+		mTimes = new long[capacity];
+		mValues = new float[capacity];
+	}
+
+	/**
+	 * Removes all samples, typically at the start of a gesture.
+	 */
+	public void clear() {
+		mHead = -1;
+		mCount = 0;
+	}
+
+	/**
+	 * Adds a sample. A sample with the same time as the newest sample replaces it, and a sample
+	 * older than the newest sample is ignored.
+	 *
+	 * @param time
+	 * 		the time of the sample, in milliseconds.
+	 * @param value
+	 * 		the value of the sample.
+	 */
+	public void addSample(final long time, final float value) {
+		if (mCount > 0) {
+			final long newest = mTimes[mHead];
+
+			if (time == newest) {
+				mValues[mHead] = value;
+				return;
+			} else if (time < newest) {
+				return;
+			}
+		}
+
+		mHead = (mHead + 1) % mTimes.length;
+		mTimes[mHead] = time;
+		mValues[mHead] = value;
+
+		if (mCount < mTimes.length) {
+			mCount++;
+		}
+	}
+
+	/**
+	 * @return the number of samples within {@link #HORIZON} of the newest sample.
+	 */
+	public int getSampleCount() {
+		if (mCount == 0) {
+			return 0;
+		}
+
+		final long newest = mTimes[mHead];
+		int count = 1;
+
+		while (count < mCount && newest - getTime(count) <= HORIZON) {
+			count++;
+		}
+
+		return count;
+	}
+
+	/**
+	 * <i>Note that this method does not check the validity of</i> <code>age</code>.
+	 *
+	 * @param age
+	 * 		0 for the newest sample, 1 for the one before it, etc.
+	 * @return the time of the sample, in milliseconds.
+	 */
+	protected long getTime(final int age) {
+		return mTimes[index(age)];
+	}
+
+	/**
+	 * <i>Note that this method does not check the validity of</i> <code>age</code>.
+	 *
+	 * @param age
+	 * 		0 for the newest sample, 1 for the one before it, etc.
+	 * @return the value of the sample.
+	 */
+	protected float getValue(final int age) {
+		return mValues[index(age)];
+	}
+
+	private int index(final int age) {
+		final int index = mHead - age;
+		return index < 0 ? index + mTimes.length : index;
+	}
+
+	/**
+	 * @return the estimated velocity at the time of the newest sample, in units per second, or 0
+	 * if there are not enough samples.
+	 */
+	public float getVelocity() {
+		final int count = getSampleCount();
+
+		if (count < 2) {
+			return 0;
+		}
+
+		return computeVelocity(count);
+	}
+
+	/**
+	 * @param count
+	 * 		the number of samples to use, at least 2.
+	 * @return the estimated velocity at the time of the newest sample, in units per second.
+	 */
+	protected abstract float computeVelocity(final int count);
+}
@@ -0,0 +1,132 @@
+package com.tumblr.backboard.performer;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.facebook.rebound.Spring;
+import com.facebook.rebound.SpringListener;
+import com.facebook.rebound.SpringUtil;
+
+/**
+ * Maps the motion of a {@link com.facebook.rebound.Spring} to a {@link FloatTarget}, optionally
+ * mapping the spring domain to another range first. It does not depend on Android, so any target
+ * can be animated, including off-device.
+ */
+public class FloatPerformer implements SpringListener {
+
+	/**
+	 * The target to set, if any.
+	 */
+	@Nullable
+	protected FloatTarget mFloatTarget;
+
+	private boolean mMapped;
+	private double mInitialStart;
+	private double mInitialEnd;
+	private double mStart;
+	private double mEnd;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param target
+	 * 		the target to set, may be <code>null</code>.
+	 */
+	public FloatPerformer(@Nullable final FloatTarget target) {
+		mFloatTarget = target;
+	}
+
+	@Nullable
+	public FloatTarget getFloatTarget() {
+		return mFloatTarget;
+	}
+
+	/**
+	 * @param target
+	 * 		the target to set, may be <code>null</code>.
+	 */
+	public void setFloatTarget(@Nullable final FloatTarget target) {
+		mFloatTarget = target;
+	}
+
+	/**
+	 * Maps the spring domain to a range, like
+	 * {@link SpringUtil#mapValueFromRangeToRange(double, double, double, double, double)}.
+	 *
+	 * @param initialStart
+	 * 		the minimum value for the spring domain.
+	 * @param initialEnd
+	 * 		the maximum value for the spring domain.
+	 * @param start
+	 * 		the minimum value for the target range.
+	 * @param end
+	 * 		the maximum value for the target range.
+	 * @return this object for chaining
+	 */
+	@NonNull
+	public FloatPerformer setRange(final double initialStart, final double initialEnd, final double start,
+	                               final double end) {
+		mMapped = true;
+		mInitialStart = initialStart;
+		mInitialEnd = initialEnd;
+		mStart = start;
+		mEnd = end;
+
+		return this;
+	}
+
+	@Override
+	public void onSpringUpdate(@NonNull final Spring spring) {
+		perform(spring.getCurrentValue());
+	}
+
+	/**
+	 * Maps a spring value to the target.
+	 *
+	 * @param value
+	 * 		the current value of the spring.
+	 */
+	public void perform(final double value) {
+		setValue(getPropertyValue(value));
+	}
+
+	/**
+	 * @param value
+	 * 		a value of the spring.
+	 * @return the value of the target for that spring value.
+	 */
+	public float getPropertyValue(final double value) {
+		if (mMapped) {
+			return (float) SpringUtil.mapValueFromRangeToRange(value, mInitialStart, mInitialEnd, mStart, mEnd);
+		}
+
+		return (float) value;
+	}
+
+	/**
+	 * Sets the target.
+	 *
+	 * @param value
+	 * 		the new value of the target.
+	 */
+	protected void setValue(final float value) {
+		if (mFloatTarget != null) {
+			mFloatTarget.setValue(value);
+		}
+	}
+
+	@Override
+	public void onSpringAtRest(final Spring spring) {
+
+	}
+
+	@Override
+	public void onSpringActivate(final Spring spring) {
+
+	}
+
+	@Override
+	public void onSpringEndStateChange(final Spring spring) {
+
+	}
+}
@@ -0,0 +1,14 @@
+package com.tumblr.backboard.performer;
+
+/**
+ * Receives the values of a {@link FloatPerformer}, e.g. a property of a view, a value drawn by a
+ * custom renderer, or a field read by a test.
+ */
+public interface FloatTarget {
+
+	/**
+	 * @param value
+	 * 		the new value.
+	 */
+	void setValue(float value);
+}
@@ -0,0 +1,608 @@
+package com.tumblr.backboard.physics;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.facebook.rebound.SpringConfig;
+import com.tumblr.backboard.performer.FloatPerformer;
+
+/**
+ * Steps many springs together. Instead of one object per spring, the state of every spring is
+ * kept in primitive arrays indexed by an <code>int</code> handle, and all active springs are
+ * integrated in a single loop per frame, with no allocation once the arrays are large enough.
+ * This is useful for particle effects with hundreds of short-lived springs.
+ * <p>
+ * The physics match {@link com.facebook.rebound.Spring}: a damped harmonic oscillator, integrated
+ * with RK4 in fixed 1 ms steps, at most 64 ms per frame. Alternatively, with
+ * {@link #SOLVER_ANALYTIC}, each spring is advanced in closed form by a {@link DampedOscillator},
+ * which costs the same for any frame gap and does not drop time after a long frame.
+ * <p>
+ * Springs only move when {@link #step(double)} is called, so that a batch can be stepped offscreen
+ * or in tests. Like Rebound's <code>SpringSystem</code>, a subclass can step every frame instead,
+ * starting from {@link #startLooping()}.
+ * <p>
+ * Each spring can drive a {@link FloatPerformer}, e.g. a <code>Performer</code>, and notify a
+ * {@link Listener}. To drive several performers from one spring, see {@link SpringBatchAdapter}.
+ * <p>
+ * <i>Note that, for speed, methods taking a handle do not check its validity.</i> Handles are
+ * reused after {@link #destroy(int)}. Not thread safe.
+ */
+public class BaseSpringBatch {
+
+	/**
+	 * Receives events for a single spring of a {@link BaseSpringBatch}.
+	 */
+	public interface Listener {
+		/**
+		 * Called after the spring has been stepped.
+		 *
+		 * @param batch
+		 * 		the batch that owns the spring.
+		 * @param handle
+		 * 		the handle of the spring.
+		 */
+		void onSpringUpdate(@NonNull BaseSpringBatch batch, int handle);
+
+		/**
+		 * Called once the spring comes to rest.
+		 *
+		 * @param batch
+		 * 		the batch that owns the spring.
+		 * @param handle
+		 * 		the handle of the spring.
+		 */
+		void onSpringAtRest(@NonNull BaseSpringBatch batch, int handle);
+	}
+
+	/**
+	 * Integrates springs numerically, like {@link com.facebook.rebound.Spring}.
+	 */
+	public static final int SOLVER_RK4 = 0;
+	/**
+	 * Evaluates springs in closed form, with a {@link DampedOscillator}.
+	 */
+	public static final int SOLVER_ANALYTIC = 1;
+
+	/**
+	 * Same as {@link com.facebook.rebound.Spring}.
+	 */
+	private static final double SOLVER_TIMESTEP_SEC = 0.001;
+	/**
+	 * Same as {@link com.facebook.rebound.Spring}.
+	 */
+	private static final double MAX_DELTA_TIME_SEC = 0.064;
+	/**
+	 * The default rest speed and displacement thresholds, same as
+	 * {@link com.facebook.rebound.Spring}.
+	 */
+	public static final double DEFAULT_REST_THRESHOLD = 0.005;
+
+	private static final double SIXTH = 1.0 / 6.0;
+
+	/**
+	 * Initial capacity of the spring arrays.
+	 */
+	private static final int INITIAL_CAPACITY = 16;
+
+	@NonNull
+	private double[] mPosition = new double[INITIAL_CAPACITY];
+	@NonNull
+	private double[] mVelocity = new double[INITIAL_CAPACITY];
+	@NonNull
+	private double[] mEndValue = new double[INITIAL_CAPACITY];
+	@NonNull
+	private double[] mTension = new double[INITIAL_CAPACITY];
+	@NonNull
+	private double[] mFriction = new double[INITIAL_CAPACITY];
+	/**
+	 * Whether or not the handle refers to a spring that has not been destroyed.
+	 */
+	@NonNull
+	private boolean[] mAlive = new boolean[INITIAL_CAPACITY];
+	/**
+	 * Whether or not the handle is in {@link #mActive}.
+	 */
+	@NonNull
+	private boolean[] mInActiveList = new boolean[INITIAL_CAPACITY];
+	/**
+	 * Whether or not the spring came to rest in the current frame.
+	 */
+	@NonNull
+	private boolean[] mResting = new boolean[INITIAL_CAPACITY];
+	@NonNull
+	private FloatPerformer[] mPerformers = new FloatPerformer[INITIAL_CAPACITY];
+	@NonNull
+	private Listener[] mListeners = new Listener[INITIAL_CAPACITY];
+
+	/**
+	 * The number of handles ever allocated; handles at or past this index have never been used.
+	 */
+	private int mHandleCount;
+	/**
+	 * Destroyed handles, available for reuse.
+	 */
+	@NonNull
+	private int[] mFree = new int[INITIAL_CAPACITY];
+	private int mFreeCount;
+	/**
+	 * Handles of the springs that are not at rest.
+	 */
+	@NonNull
+	private int[] mActive = new int[INITIAL_CAPACITY];
+	private int mActiveCount;
+
+	private int mSolver = SOLVER_RK4;
+	/**
+	 * Reused by {@link #SOLVER_ANALYTIC}.
+	 */
+	@NonNull
+	private final DampedOscillator mOscillator = new DampedOscillator();
+
+	private double mRestSpeedThreshold = DEFAULT_REST_THRESHOLD;
+	private double mRestDisplacementThreshold = DEFAULT_REST_THRESHOLD;
+
+	/**
+	 * Creates a spring using {@link SpringConfig#defaultConfig}.
+	 *
+	 * @return the handle of the new spring.
+	 */
+	public int create() {
+		return create(SpringConfig.defaultConfig);
+	}
+
+	/**
+	 * Creates a spring at rest at 0.
+	 *
+	 * @param config
+	 * 		the tension and friction of the spring.
+	 * @return the handle of the new spring.
+	 */
+	public int create(@NonNull final SpringConfig config) {
+		final int handle;
+
+		if (mFreeCount > 0) {
+			handle = mFree[--mFreeCount];
+		} else {
+			if (mHandleCount == mPosition.length) {
+				grow();
+			}
+
+			handle = mHandleCount++;
+		}
+
+		mPosition[handle] = 0;
+		mVelocity[handle] = 0;
+		mEndValue[handle] = 0;
+		mTension[handle] = config.tension;
+		mFriction[handle] = config.friction;
+		mAlive[handle] = true;
+		mResting[handle] = false;
+		mPerformers[handle] = null;
+		mListeners[handle] = null;
+
+		return handle;
+	}
+
+	/**
+	 * Destroys a spring. Its handle may be returned by a later call to {@link #create()}.
+	 *
+	 * @param handle
+	 * 		the handle of the spring.
+	 */
+	public void destroy(final int handle) {
+		if (!mAlive[handle]) {
+			return;
+		}
+
+		mAlive[handle] = false;
+		mPerformers[handle] = null;
+		mListeners[handle] = null;
+
+		// an active handle is freed once it leaves the active list
+		if (!mInActiveList[handle]) {
+			mFree[mFreeCount++] = handle;
+		}
+	}
+
+	/**
+	 * Doubles the capacity of the spring arrays.
+	 */
+	private void grow() {
+		final int capacity = 2 * mPosition.length;
+
+		mPosition = copyOf(mPosition, capacity);
+		mVelocity = copyOf(mVelocity, capacity);
+		mEndValue = copyOf(mEndValue, capacity);
+		mTension = copyOf(mTension, capacity);
+		mFriction = copyOf(mFriction, capacity);
+
+		final boolean[] alive = new boolean[capacity];
+		final boolean[] inActiveList = new boolean[capacity];
+		final boolean[] resting = new boolean[capacity];
+		final FloatPerformer[] performers = new FloatPerformer[capacity];
+		final Listener[] listeners = new Listener[capacity];
+		final int[] free = new int[capacity];
+		final int[] active = new int[capacity];
+
+		System.arraycopy(mAlive, 0, alive, 0, mHandleCount);
+		System.arraycopy(mInActiveList, 0, inActiveList, 0, mHandleCount);
+		System.arraycopy(mResting, 0, resting, 0, mHandleCount);
+		System.arraycopy(mPerformers, 0, performers, 0, mHandleCount);
+		System.arraycopy(mListeners, 0, listeners, 0, mHandleCount);
+		System.arraycopy(mFree, 0, free, 0, mFreeCount);
+		System.arraycopy(mActive, 0, active, 0, mActiveCount);
+
+		mAlive = alive;
+		mInActiveList = inActiveList;
+		mResting = resting;
+		mPerformers = performers;
+		mListeners = listeners;
+		mFree = free;
+		mActive = active;
+	}
+
+	@NonNull
+	private double[] copyOf(@NonNull final double[] array, final int capacity) {
+		final double[] copy = new double[capacity];
+		System.arraycopy(array, 0, copy, 0, mHandleCount);
+		return copy;
+	}
+
+	/**
+	 * Adds the spring to the active list and starts looping.
+	 *
+	 * @param handle
+	 * 		the handle of the spring.
+	 */
+	private void activate(final int handle) {
+		mResting[handle] = false;
+
+		if (!mInActiveList[handle]) {
+			mInActiveList[handle] = true;
+			mActive[mActiveCount++] = handle;
+		}
+
+		startLooping();
+	}
+
+	/**
+	 * Called whenever a spring is activated, so that a subclass can start calling
+	 * {@link #step(double)} every frame, if it is not already, until {@link #getActiveCount()} is 0.
+	 * Does nothing by default.
+	 */
+	protected void startLooping() {
+		// pass
+	}
+
+	/**
+	 * Advances every active spring and notifies their performers and listeners.
+	 *
+	 * @param deltaSeconds
+	 * 		the time to advance, in seconds. Capped at 64 ms, like
+	 * 		{@link com.facebook.rebound.Spring}, unless the solver is {@link #SOLVER_ANALYTIC}.
+	 */
+	public void step(final double deltaSeconds) {
+		final boolean analytic = mSolver == SOLVER_ANALYTIC;
+		final double delta = analytic ? Math.max(0, deltaSeconds) : Math.min(deltaSeconds, MAX_DELTA_TIME_SEC);
+		final int[] active = mActive;
+		final int count = mActiveCount;
+
+		final double[] positions = mPosition;
+		final double[] velocities = mVelocity;
+		final double[] endValues = mEndValue;
+		final double[] tensions = mTension;
+		final double[] frictions = mFriction;
+
+		for (int i = 0; i < count; i++) {
+			final int handle = active[i];
+
+			if (!mAlive[handle] || mResting[handle]) {
+				continue;
+			}
+
+			final double end = endValues[handle];
+			final double tension = tensions[handle];
+			final double friction = frictions[handle];
+
+			double position = positions[handle];
+			double velocity = velocities[handle];
+			double remaining = delta;
+
+			if (analytic) {
+				mOscillator.set(tension, friction, position, velocity, end);
+				position = mOscillator.getPosition(delta);
+				velocity = mOscillator.getVelocity(delta);
+				remaining = 0;
+			}
+
+			while (remaining > 0) {
+				final double dt = Math.min(remaining, SOLVER_TIMESTEP_SEC);
+				remaining -= dt;
+
+				// RK4, same as com.facebook.rebound.Spring
+				final double aVelocity = velocity;
+				final double aAcceleration = tension * (end - position) - friction * velocity;
+
+				final double bVelocity = velocity + aAcceleration * dt / 2;
+				final double bAcceleration = tension * (end - (position + aVelocity * dt / 2))
+						- friction * bVelocity;
+
+				final double cVelocity = velocity + bAcceleration * dt / 2;
+				final double cAcceleration = tension * (end - (position + bVelocity * dt / 2))
+						- friction * cVelocity;
+
+				final double dVelocity = velocity + cAcceleration * dt;
+				final double dAcceleration = tension * (end - (position + cVelocity * dt))
+						- friction * dVelocity;
+
+				position += (aVelocity + 2 * (bVelocity + cVelocity) + dVelocity) * SIXTH * dt;
+				velocity += (aAcceleration + 2 * (bAcceleration + cAcceleration) + dAcceleration) * SIXTH * dt;
+			}
+
+			if (Math.abs(velocity) <= mRestSpeedThreshold
+					&& (Math.abs(end - position) <= mRestDisplacementThreshold || tension == 0)) {
+				if (tension > 0) {
+					position = end;
+				}
+
+				velocity = 0;
+				mResting[handle] = true;
+			}
+
+			positions[handle] = position;
+			velocities[handle] = velocity;
+		}
+
+		for (int i = 0; i < count; i++) {
+			final int handle = active[i];
+
+			if (mPerformers[handle] != null) {
+				mPerformers[handle].perform(positions[handle]);
+			}
+
+			if (mListeners[handle] != null) {
+				mListeners[handle].onSpringUpdate(this, handle);
+
+				if (mResting[handle] && mListeners[handle] != null) {
+					mListeners[handle].onSpringAtRest(this, handle);
+				}
+			}
+		}
+
+		removeInactive();
+	}
+
+	/**
+	 * Removes destroyed and resting springs from the active list, preserving order.
+	 */
+	private void removeInactive() {
+		int kept = 0;
+
+		for (int i = 0; i < mActiveCount; i++) {
+			final int handle = mActive[i];
+
+			if (mAlive[handle] && !mResting[handle]) {
+				mActive[kept++] = handle;
+			} else {
+				mInActiveList[handle] = false;
+
+				if (!mAlive[handle]) {
+					mFree[mFreeCount++] = handle;
+				}
+			}
+		}
+
+		mActiveCount = kept;
+	}
+
+	/**
+	 * @return the number of springs that are not at rest.
+	 */
+	public int getActiveCount() {
+		return mActiveCount;
+	}
+
+	/**
+	 * @param handle
+	 * 		the handle of the spring.
+	 * @return whether or not the spring is at rest.
+	 */
+	public boolean isAtRest(final int handle) {
+		return !mInActiveList[handle] || mResting[handle];
+	}
+
+	/**
+	 * @param handle
+	 * 		the handle of the spring.
+	 * @return the current value of the spring.
+	 */
+	public double getCurrentValue(final int handle) {
+		return mPosition[handle];
+	}
+
+	/**
+	 * Moves the spring to the given value and puts it at rest there, like
+	 * {@link com.facebook.rebound.Spring#setCurrentValue(double)}.
+	 *
+	 * @param handle
+	 * 		the handle of the spring.
+	 * @param value
+	 * 		the new current and end value.
+	 */
+	public void setCurrentValue(final int handle, final double value) {
+		mPosition[handle] = value;
+		mEndValue[handle] = value;
+		mVelocity[handle] = 0;
+
+		if (mPerformers[handle] != null) {
+			mPerformers[handle].perform(value);
+		}
+	}
+
+	/**
+	 * @param handle
+	 * 		the handle of the spring.
+	 * @return the end value of the spring.
+	 */
+	public double getEndValue(final int handle) {
+		return mEndValue[handle];
+	}
+
+	/**
+	 * @param handle
+	 * 		the handle of the spring.
+	 * @param endValue
+	 * 		the value the spring moves towards.
+	 */
+	public void setEndValue(final int handle, final double endValue) {
+		if (mEndValue[handle] == endValue && isAtRest(handle)) {
+			return;
+		}
+
+		mEndValue[handle] = endValue;
+		activate(handle);
+	}
+
+	/**
+	 * @param handle
+	 * 		the handle of the spring.
+	 * @return the velocity of the spring, in units per second.
+	 */
+	public double getVelocity(final int handle) {
+		return mVelocity[handle];
+	}
+
+	/**
+	 * @param handle
+	 * 		the handle of the spring.
+	 * @param velocity
+	 * 		the velocity of the spring, in units per second.
+	 */
+	public void setVelocity(final int handle, final double velocity) {
+		mVelocity[handle] = velocity;
+
+		if (velocity != 0) {
+			activate(handle);
+		}
+	}
+
+	/**
+	 * @param handle
+	 * 		the handle of the spring.
+	 * @param config
+	 * 		the new tension and friction of the spring.
+	 */
+	public void setSpringConfig(final int handle, @NonNull final SpringConfig config) {
+		mTension[handle] = config.tension;
+		mFriction[handle] = config.friction;
+
+		if (mPosition[handle] != mEndValue[handle] || mVelocity[handle] != 0) {
+			activate(handle);
+		}
+	}
+
+	/**
+	 * @param handle
+	 * 		the handle of the spring.
+	 * @return the tension of the spring.
+	 */
+	public double getTension(final int handle) {
+		return mTension[handle];
+	}
+
+	/**
+	 * @param handle
+	 * 		the handle of the spring.
+	 * @return the friction of the spring.
+	 */
+	public double getFriction(final int handle) {
+		return mFriction[handle];
+	}
+
+	/**
+	 * @param handle
+	 * 		the handle of the spring.
+	 * @return the performer driven by the spring, if any.
+	 */
+	@Nullable
+	public FloatPerformer getPerformer(final int handle) {
+		return mPerformers[handle];
+	}
+
+	/**
+	 * Sets the performer driven by the spring, through {@link FloatPerformer#perform(double)}.
+	 *
+	 * @param handle
+	 * 		the handle of the spring.
+	 * @param performer
+	 * 		the performer, or <code>null</code> to remove it.
+	 */
+	public void setPerformer(final int handle, @Nullable final FloatPerformer performer) {
+		mPerformers[handle] = performer;
+	}
+
+	/**
+	 * @param handle
+	 * 		the handle of the spring.
+	 * @return the listener of the spring, if any.
+	 */
+	@Nullable
+	public Listener getListener(final int handle) {
+		return mListeners[handle];
+	}
+
+	/**
+	 * @param handle
+	 * 		the handle of the spring.
+	 * @param listener
+	 * 		the listener, or <code>null</code> to remove it.
+	 */
+	public void setListener(final int handle, @Nullable final Listener listener) {
+		mListeners[handle] = listener;
+	}
+
+	public int getSolver() {
+		return mSolver;
+	}
+
+	/**
+	 * @param solver
+	 * 		{@link #SOLVER_RK4} or {@link #SOLVER_ANALYTIC}.
+	 * @return this object for chaining
+	 */
+	@NonNull
+	public BaseSpringBatch setSolver(final int solver) {
+		mSolver = solver;
+		return this;
+	}
+
+	public double getRestSpeedThreshold() {
+		return mRestSpeedThreshold;
+	}
+
+	/**
+	 * @param restSpeedThreshold
+	 * 		below this speed, and near its end value, a spring is at rest.
+	 * @return this object for chaining
+	 */
+	@NonNull
+	public BaseSpringBatch setRestSpeedThreshold(final double restSpeedThreshold) {
+		mRestSpeedThreshold = restSpeedThreshold;
+		return this;
+	}
+
+	public double getRestDisplacementThreshold() {
+		return mRestDisplacementThreshold;
+	}
+
+	/**
+	 * @param restDisplacementThreshold
+	 * 		within this distance of its end value, and slow enough, a spring is at rest.
+	 * @return this object for chaining
+	 */
+	@NonNull
+	public BaseSpringBatch setRestDisplacementThreshold(final double restDisplacementThreshold) {
+		mRestDisplacementThreshold = restDisplacementThreshold;
+		return this;
+	}
+}
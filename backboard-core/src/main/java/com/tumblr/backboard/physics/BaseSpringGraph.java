@@ -0,0 +1,334 @@
+package com.tumblr.backboard.physics;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.facebook.rebound.BaseSpringSystem;
+import com.facebook.rebound.Spring;
+import com.facebook.rebound.SpringLooper;
+import com.tumblr.backboard.imitator.SpringImitator;
+import com.tumblr.backboard.performer.FloatPerformer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Steps springs that drive other springs in dependency order. In a
+ * {@link com.facebook.rebound.SpringSystem}, springs are stepped in the order they were activated,
+ * so a {@link SpringImitator} whose spring was stepped before the spring it imitates only sees the
+ * change on the next frame, and a chain of them can take several frames to propagate.
+ * <p>
+ * Springs created by {@link #createSpring()} each belong to their own {@link BaseSpringSystem},
+ * which the graph loops once per frame in topological order: every spring is stepped after the
+ * springs it depends on, so a change reaches every dependent in the same frame. Springs are still
+ * stepped by {@link Spring} itself, so listeners get the usual events.
+ * <p>
+ * Dependencies are added with {@link #imitate(Spring, SpringImitator)} or
+ * {@link #addDependency(Spring, Spring)}, which throw if the dependency would close a cycle, since
+ * that would keep the springs moving forever. The graph is therefore always sortable, and is
+ * sorted by {@link #build()} on the next loop after it changes.
+ * <p>
+ * Springs only move when {@link #loop(double)} is called, so that a graph can be stepped offscreen
+ * or in tests. A subclass can loop every frame instead, starting from {@link #startLooping()}.
+ * <p>
+ * Not thread safe.
+ */
+public class BaseSpringGraph {
+
+	/**
+	 * A spring and its system, with the springs that depend on it.
+	 */
+	private static final class Node {
+		@NonNull
+		private final Spring mSpring;
+		@NonNull
+		private final BaseSpringSystem mSystem;
+		@NonNull
+		private final List<Node> mDependents = new ArrayList<Node>();
+		/**
+		 * The number of springs this spring depends on that are not sorted yet.
+		 */
+		private int mPending;
+
+		private Node(@NonNull final BaseSpringSystem system) {
+			mSystem = system;
+			mSpring = system.createSpring();
+		}
+	}
+
+	/**
+	 * Wakes the graph when a spring of its system is activated. The graph decides when to stop.
+	 */
+	private final class GraphLooper extends SpringLooper {
+		@Override
+		public void start() {
+			startLooping();
+		}
+
+		@Override
+		public void stop() {
+			// pass
+		}
+	}
+
+	@NonNull
+	private final List<Node> mNodes = new ArrayList<Node>();
+	/**
+	 * The nodes in topological order, valid unless {@link #mDirty}.
+	 */
+	@NonNull
+	private Node[] mOrder = new Node[0];
+	private boolean mDirty;
+
+	/**
+	 * @return a new spring, stepped by this graph.
+	 */
+	@NonNull
+	public Spring createSpring() {
+		final Node node = new Node(new BaseSpringSystem(new GraphLooper()));
+
+		mNodes.add(node);
+		mDirty = true;
+
+		return node.mSpring;
+	}
+
+	/**
+	 * Makes a spring imitate another one, and steps it after the one it imitates.
+	 *
+	 * @param leader
+	 * 		the spring to imitate, created by {@link #createSpring()}.
+	 * @param imitator
+	 * 		the imitator, whose spring was created by {@link #createSpring()}.
+	 * @return this object for chaining
+	 * @throws IllegalArgumentException
+	 * 		if the leader already depends on the imitator's spring, naming the springs in the cycle.
+	 */
+	@NonNull
+	public BaseSpringGraph imitate(@NonNull final Spring leader, @NonNull final SpringImitator imitator) {
+		final Spring follower = imitator.getSpring();
+
+		if (follower == null) {
+			throw new IllegalArgumentException("imitator has no spring");
+		}
+
+		addDependency(leader, follower);
+		leader.addListener(imitator);
+
+		return this;
+	}
+
+	/**
+	 * Makes a spring drive a performer. Performers do not affect the order, since nothing depends
+	 * on them.
+	 *
+	 * @param spring
+	 * 		the spring, created by {@link #createSpring()}.
+	 * @param performer
+	 * 		the performer.
+	 * @return this object for chaining
+	 */
+	@NonNull
+	public BaseSpringGraph perform(@NonNull final Spring spring, @NonNull final FloatPerformer performer) {
+		spring.addListener(performer);
+
+		return this;
+	}
+
+	/**
+	 * Steps a spring after another one, e.g. because a {@link com.facebook.rebound.SpringListener} of the leader changes
+	 * the follower.
+	 *
+	 * @param leader
+	 * 		the spring to step first, created by {@link #createSpring()}.
+	 * @param follower
+	 * 		the spring to step after, created by {@link #createSpring()}.
+	 * @return this object for chaining
+	 * @throws IllegalArgumentException
+	 * 		if the leader already depends on the follower, naming the springs in the cycle.
+	 */
+	@NonNull
+	public BaseSpringGraph addDependency(@NonNull final Spring leader, @NonNull final Spring follower) {
+		final Node leaderNode = nodeOf(leader);
+		final Node followerNode = nodeOf(follower);
+		final List<Node> cycle = findPath(followerNode, leaderNode, new ArrayList<Node>());
+
+		if (cycle != null) {
+			throw new IllegalArgumentException("springs would depend on each other: " + describeCycle(cycle));
+		}
+
+		leaderNode.mDependents.add(followerNode);
+		mDirty = true;
+
+		return this;
+	}
+
+	/**
+	 * @param spring
+	 * 		a spring.
+	 * @return the node of the spring.
+	 */
+	@NonNull
+	private Node nodeOf(@NonNull final Spring spring) {
+		for (Node node : mNodes) {
+			if (node.mSpring == spring) {
+				return node;
+			}
+		}
+
+		throw new IllegalArgumentException("spring " + spring.getId() + " was not created by this graph");
+	}
+
+	/**
+	 * Sorts the springs so that each is stepped after the springs it depends on.
+	 */
+	public void build() {
+		final int size = mNodes.size();
+		final Node[] order = new Node[size];
+		int sorted = 0;
+
+		for (Node node : mNodes) {
+			node.mPending = 0;
+		}
+
+		for (Node node : mNodes) {
+			for (Node dependent : node.mDependents) {
+				dependent.mPending++;
+			}
+		}
+
+		// Kahn's algorithm, using the order array as the queue. There are no cycles, so every node is sorted
+		for (Node node : mNodes) {
+			if (node.mPending == 0) {
+				order[sorted++] = node;
+			}
+		}
+
+		for (int i = 0; i < sorted; i++) {
+			for (Node dependent : order[i].mDependents) {
+				if (--dependent.mPending == 0) {
+					order[sorted++] = dependent;
+				}
+			}
+		}
+
+		mOrder = order;
+		mDirty = false;
+	}
+
+	/**
+	 * Searches the dependents of a node, depth first.
+	 *
+	 * @param from
+	 * 		the node to start at.
+	 * @param to
+	 * 		the node to find.
+	 * @param visited
+	 * 		the nodes already searched.
+	 * @return the nodes from <code>from</code> to <code>to</code>, each a dependent of the one before,
+	 * or <code>null</code> if <code>to</code> does not depend on <code>from</code>.
+	 */
+	@Nullable
+	private static List<Node> findPath(@NonNull final Node from, @NonNull final Node to,
+	                                   @NonNull final List<Node> visited) {
+		if (from == to) {
+			final List<Node> path = new ArrayList<Node>();
+			path.add(from);
+
+			return path;
+		}
+
+		visited.add(from);
+
+		for (Node dependent : from.mDependents) {
+			if (!visited.contains(dependent)) {
+				final List<Node> path = findPath(dependent, to, visited);
+
+				if (path != null) {
+					path.add(0, from);
+
+					return path;
+				}
+			}
+		}
+
+		return null;
+	}
+
+	/**
+	 * @param path
+	 * 		the path from a follower to its would-be leader.
+	 * @return the ids of the springs of the cycle, e.g. <code>"spring_1 -&gt; spring_2 -&gt; spring_1"</code>.
+	 */
+	@NonNull
+	private static String describeCycle(@NonNull final List<Node> path) {
+		final StringBuilder builder = new StringBuilder();
+		final Node leader = path.get(path.size() - 1);
+
+		builder.append(leader.mSpring.getId());
+
+		for (Node node : path) {
+			builder.append(" -> ").append(node.mSpring.getId());
+		}
+
+		return builder.toString();
+	}
+
+	/**
+	 * Called whenever a spring of the graph is activated, so that a subclass can start calling
+	 * {@link #loop(double)} every frame, if it is not already, until it returns <code>false</code>.
+	 * Does nothing by default.
+	 */
+	protected void startLooping() {
+		// pass
+	}
+
+	/**
+	 * Loops the system of every moving spring, in topological order.
+	 *
+	 * @param elapsedMillis
+	 * 		the time to advance, in milliseconds.
+	 * @return whether or not any spring is still moving.
+	 */
+	public boolean loop(final double elapsedMillis) {
+		if (mDirty) {
+			build();
+		}
+
+		for (Node node : mOrder) {
+			if (!node.mSystem.getIsIdle()) {
+				node.mSystem.loop(elapsedMillis);
+			}
+		}
+
+		// a spring may have been woken by one stepped after it
+		return !getIsIdle();
+	}
+
+	/**
+	 * @return whether or not every spring is at rest.
+	 */
+	public boolean getIsIdle() {
+		for (Node node : mNodes) {
+			if (!node.mSystem.getIsIdle()) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * @return the springs, in the order they are stepped, if the graph has been built.
+	 */
+	@NonNull
+	public List<Spring> getOrderedSprings() {
+		final List<Spring> springs = new ArrayList<Spring>(mOrder.length);
+
+		for (Node node : mOrder) {
+			springs.add(node.mSpring);
+		}
+
+		return springs;
+	}
+}
@@ -0,0 +1,151 @@
+package com.tumblr.backboard.physics;
+
+import androidx.annotation.NonNull;
+
+/**
+ * Evaluates a damped harmonic oscillator in closed form, so that its position and velocity at any
+ * time cost the same, no matter how much time has passed. This is the same model as
+ * {@link com.facebook.rebound.Spring} (unit mass, with acceleration
+ * <code>tension * (end - position) - friction * velocity</code>), solved exactly instead of
+ * integrated.
+ * <p>
+ * Under-damped, critically damped and over-damped configurations are supported, as is the
+ * undamped, tension-free case (coasting). Reusable: {@link #set(double, double, double, double, double)}
+ * does not allocate.
+ */
+public class DampedOscillator {
+
+	/**
+	 * Damping ratios this close to 1 are treated as critically damped.
+	 */
+	private static final double CRITICAL_EPSILON = 1e-6;
+
+	private static final int MODE_COAST = 0;
+	private static final int MODE_UNDER = 1;
+	private static final int MODE_CRITICAL = 2;
+	private static final int MODE_OVER = 3;
+
+	private double mEndValue;
+	private double mStartPosition;
+	private double mStartVelocity;
+	private double mFriction;
+
+	/**
+	 * The decay rate, <code>damping ratio * natural frequency</code>.
+	 */
+	private double mDecay;
+	/**
+	 * The damped angular frequency (under-damped) or the spread of the two roots (over-damped).
+	 */
+	private double mFrequency;
+	private double mA;
+	private double mB;
+	private int mMode;
+
+	/**
+	 * Sets the parameters and the initial state, at time 0.
+	 *
+	 * @param tension
+	 * 		the tension (stiffness) of the spring, at least 0.
+	 * @param friction
+	 * 		the friction (damping) of the spring, at least 0.
+	 * @param position
+	 * 		the position at time 0.
+	 * @param velocity
+	 * 		the velocity at time 0, in units per second.
+	 * @param endValue
+	 * 		the rest position of the spring.
+	 * @return this object for chaining
+	 */
+	@NonNull
+	public DampedOscillator set(final double tension, final double friction, final double position,
+	                            final double velocity, final double endValue) {
+		mEndValue = endValue;
+		mStartPosition = position;
+		mStartVelocity = velocity;
+		mFriction = friction;
+
+		final double displacement = position - endValue;
+
+		if (tension <= 0) {
+			mMode = MODE_COAST;
+			return this;
+		}
+
+		final double naturalFrequency = Math.sqrt(tension);
+		final double dampingRatio = friction / (2 * naturalFrequency);
+
+		mDecay = dampingRatio * naturalFrequency;
+		mA = displacement;
+
+		if (Math.abs(dampingRatio - 1) < CRITICAL_EPSILON) {
+			mMode = MODE_CRITICAL;
+			mB = velocity + naturalFrequency * displacement;
+		} else if (dampingRatio < 1) {
+			mMode = MODE_UNDER;
+			mFrequency = naturalFrequency * Math.sqrt(1 - dampingRatio * dampingRatio);
+			mB = (velocity + mDecay * displacement) / mFrequency;
+		} else {
+			// the roots are -decay + frequency and -decay - frequency
+			mMode = MODE_OVER;
+			mFrequency = naturalFrequency * Math.sqrt(dampingRatio * dampingRatio - 1);
+
+			final double slowRoot = -mDecay + mFrequency;
+			final double fastRoot = -mDecay - mFrequency;
+
+			mB = (velocity - slowRoot * displacement) / (fastRoot - slowRoot);
+			mA = displacement - mB;
+		}
+
+		return this;
+	}
+
+	/**
+	 * @param time
+	 * 		the time since the initial state, in seconds.
+	 * @return the position at that time.
+	 */
+	public double getPosition(final double time) {
+		switch (mMode) {
+		case MODE_UNDER:
+			return mEndValue + Math.exp(-mDecay * time)
+					* (mA * Math.cos(mFrequency * time) + mB * Math.sin(mFrequency * time));
+		case MODE_CRITICAL:
+			return mEndValue + (mA + mB * time) * Math.exp(-mDecay * time);
+		case MODE_OVER:
+			return mEndValue + mA * Math.exp((-mDecay + mFrequency) * time)
+					+ mB * Math.exp((-mDecay - mFrequency) * time);
+		default:
+			if (mFriction > 0) {
+				return mStartPosition + mStartVelocity / mFriction * (1 - Math.exp(-mFriction * time));
+			}
+
+			return mStartPosition + mStartVelocity * time;
+		}
+	}
+
+	/**
+	 * @param time
+	 * 		the time since the initial state, in seconds.
+	 * @return the velocity at that time, in units per second.
+	 */
+	public double getVelocity(final double time) {
+		switch (mMode) {
+		case MODE_UNDER:
+			final double cos = Math.cos(mFrequency * time);
+			final double sin = Math.sin(mFrequency * time);
+
+			return Math.exp(-mDecay * time) * ((mB * mFrequency - mA * mDecay) * cos
+					- (mA * mFrequency + mB * mDecay) * sin);
+		case MODE_CRITICAL:
+			return (mB - mDecay * (mA + mB * time)) * Math.exp(-mDecay * time);
+		case MODE_OVER:
+			final double slowRoot = -mDecay + mFrequency;
+			final double fastRoot = -mDecay - mFrequency;
+
+			return mA * slowRoot * Math.exp(slowRoot * time) + mB * fastRoot * Math.exp(fastRoot * time);
+		default:
+			return mStartVelocity * Math.exp(-mFriction * time);
+		}
+	}
+}
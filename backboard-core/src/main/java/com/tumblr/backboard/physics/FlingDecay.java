@@ -0,0 +1,103 @@
+package com.tumblr.backboard.physics;
+
+import androidx.annotation.NonNull;
+
+/**
+ * A fling slowed by friction alone: the velocity decays exponentially, so that
+ * <code>velocity(t) = v0 * e^(-friction * t)</code> and the position approaches
+ * <code>x0 + v0 / friction</code>. This is a {@link com.facebook.rebound.Spring} with no tension,
+ * solved in closed form, so the rest position, and the time at which any value is crossed, are
+ * known as soon as the fling starts.
+ * <p>
+ * Reusable: {@link #set(double, double, double)} does not allocate.
+ */
+public class FlingDecay {
+
+	private double mStartPosition;
+	private double mStartVelocity;
+	private double mFriction;
+
+	/**
+	 * Sets the initial state, at time 0.
+	 *
+	 * @param position
+	 * 		the position at time 0.
+	 * @param velocity
+	 * 		the velocity at time 0, in units per second.
+	 * @param friction
+	 * 		the friction, greater than 0, in the units of {@link com.facebook.rebound.SpringConfig#friction}.
+	 * @return this object for chaining
+	 */
+	@NonNull
+	public FlingDecay set(final double position, final double velocity, final double friction) {
+		if (friction <= 0) {
+			throw new IllegalArgumentException("friction must be positive");
+		}
+
+		mStartPosition = position;
+		mStartVelocity = velocity;
+		mFriction = friction;
+		return this;
+	}
+
+	/**
+	 * @return the position the fling comes to rest at, given infinite time.
+	 */
+	public double getRestPosition() {
+		return mStartPosition + mStartVelocity / mFriction;
+	}
+
+	/**
+	 * @param time
+	 * 		the time since the start of the fling, in seconds.
+	 * @return the position at that time.
+	 */
+	public double getPosition(final double time) {
+		return mStartPosition + mStartVelocity / mFriction * (1 - Math.exp(-mFriction * time));
+	}
+
+	/**
+	 * @param time
+	 * 		the time since the start of the fling, in seconds.
+	 * @return the velocity at that time, in units per second.
+	 */
+	public double getVelocity(final double time) {
+		return mStartVelocity * Math.exp(-mFriction * time);
+	}
+
+	/**
+	 * @param position
+	 * 		a position.
+	 * @return the time the fling reaches the position, in seconds, or
+	 * {@link Double#POSITIVE_INFINITY} if it never does.
+	 */
+	public double getTimeToPosition(final double position) {
+		if (position == mStartPosition) {
+			return 0;
+		}
+
+		// solve position = x0 + v0 / friction * (1 - e^(-friction * t)) for t
+		final double remaining = 1 - (position - mStartPosition) * mFriction / mStartVelocity;
+
+		if (mStartVelocity == 0 || remaining <= 0 || remaining > 1) {
+			return Double.POSITIVE_INFINITY;
+		}
+
+		return -Math.log(remaining) / mFriction;
+	}
+
+	/**
+	 * @param restSpeedThreshold
+	 * 		the speed below which the fling is at rest, in units per second.
+	 * @return the time the fling slows down to the given speed, in seconds.
+	 */
+	public double getTimeToSpeed(final double restSpeedThreshold) {
+		final double speed = Math.abs(mStartVelocity);
+
+		if (speed <= restSpeedThreshold) {
+			return 0;
+		}
+
+		return Math.log(speed / restSpeedThreshold) / mFriction;
+	}
+}
@@ -0,0 +1,50 @@
+package com.tumblr.backboard.physics;
+
+import androidx.annotation.NonNull;
+
+import com.tumblr.backboard.performer.FloatPerformer;
+
+/**
+ * Drives performers from a spring of a {@link BaseSpringBatch}, such as the
+ * <code>Performer</code>s or <code>MapPerformer</code>s that would otherwise listen to a Rebound
+ * spring. Set it as the {@link BaseSpringBatch.Listener} of one or more batch springs.
+ * <p>
+ * The bridge is one-way: the batch owns the state of its springs, and there is no Rebound
+ * {@link com.facebook.rebound.Spring} to keep in sync. To move a batch spring from touch, set its
+ * end value, velocity or current value on the batch.
+ */
+public class SpringBatchAdapter implements BaseSpringBatch.Listener {
+
+	@NonNull
+	private final FloatPerformer[] mPerformers;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param performers
+	 * 		the performers to drive, in order.
+	 */
+	public SpringBatchAdapter(@NonNull final FloatPerformer... performers) {
+		mPerformers = performers;
+	}
+
+	@NonNull
+	public FloatPerformer[] getPerformers() {
+		return mPerformers;
+	}
+
+	@Override
+	public void onSpringUpdate(@NonNull final BaseSpringBatch batch, final int handle) {
+		final double value = batch.getCurrentValue(handle);
+		final FloatPerformer[] performers = mPerformers;
+
+		for (int i = 0; i < performers.length; i++) {
+			performers[i].perform(value);
+		}
+	}
+
+	@Override
+	public void onSpringAtRest(@NonNull final BaseSpringBatch batch, final int handle) {
+		// pass
+	}
+}
@@ -0,0 +1,208 @@
+package com.tumblr.backboard.physics;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.facebook.rebound.Spring;
+
+/**
+ * Moves a {@link Spring} freely between a minimum and a maximum value after the user lets go, with
+ * a {@link FlingDecay}. Its rest position, and the time it crosses the minimum or maximum value,
+ * are computed once in {@link #release(Spring, double, double, double, long)}; the fling then sets
+ * the current value of the spring in {@link #step(long)}, and hands the spring its position and
+ * velocity at the crossing time so that it bounces back to the bound. A fling that stays within
+ * bounds always ends at its exact rest position.
+ * <p>
+ * The caller schedules the steps, e.g. once per frame, so the fling does not depend on Android.
+ * Times may be in any time base, e.g. that of frames, as long as every call uses the same one;
+ * {@link #release(Spring, double, double, double)} starts the clock at the first step, so that
+ * only frame times are needed.
+ */
+public class SpringFling {
+
+	private static final double NANOSECONDS_PER_SECOND = 1e9;
+
+	@NonNull
+	private final FlingDecay mDecay = new FlingDecay();
+	@Nullable
+	private Spring mSpring;
+	private boolean mFlinging;
+	/**
+	 * The bound the fling crosses, if {@link #mBounceTime} is finite.
+	 */
+	private double mBounceValue;
+	/**
+	 * The time the fling crosses {@link #mBounceValue}, in seconds.
+	 */
+	private double mBounceTime;
+	/**
+	 * The time the fling comes to rest, in seconds.
+	 */
+	private double mRestTime;
+	/**
+	 * Whether or not {@link #mStartTimeNanos} is set, which happens at the first step if the fling
+	 * was released without a time.
+	 */
+	private boolean mStarted;
+	private long mStartTimeNanos;
+
+	/**
+	 * Sends the spring back to the nearest bound if it is outside of them.
+	 *
+	 * @param spring
+	 * 		the spring.
+	 * @param minValue
+	 * 		the desired minimum spring value.
+	 * @param maxValue
+	 * 		the desired maximum spring value.
+	 * @return whether or not the spring was outside of the bounds.
+	 */
+	public static boolean constrain(@NonNull final Spring spring, final double minValue, final double maxValue) {
+		// snap to left or right depending on current location
+		if (spring.getCurrentValue() > maxValue) {
+			spring.setEndValue(maxValue);
+			return true;
+		} else if (spring.getCurrentValue() < minValue) {
+			spring.setEndValue(minValue);
+			return true;
+		}
+
+		return false;
+	}
+
+	/**
+	 * Continues the motion of the spring with a fling. If the spring is outside of the bounds and
+	 * would stay there, it is sent back to the nearest bound instead. Otherwise, the spring is put
+	 * at rest, and the fling must be stepped until {@link #step(long)} returns <code>false</code>.
+	 *
+	 * @param spring
+	 * 		the spring, whose current value and velocity start the fling.
+	 * @param friction
+	 * 		the friction of the fling, greater than 0.
+	 * @param minValue
+	 * 		the desired minimum spring value.
+	 * @param maxValue
+	 * 		the desired maximum spring value.
+	 * @param timeNanos
+	 * 		the current time.
+	 * @return whether or not a fling started.
+	 */
+	public boolean release(@NonNull final Spring spring, final double friction, final double minValue,
+	                       final double maxValue, final long timeNanos) {
+		if (!release(spring, friction, minValue, maxValue)) {
+			return false;
+		}
+
+		mStarted = true;
+		mStartTimeNanos = timeNanos;
+
+		return true;
+	}
+
+	/**
+	 * Like {@link #release(Spring, double, double, double, long)}, but the fling starts at the time
+	 * of its first {@link #step(long)}.
+	 *
+	 * @param spring
+	 * 		the spring, whose current value and velocity start the fling.
+	 * @param friction
+	 * 		the friction of the fling, greater than 0.
+	 * @param minValue
+	 * 		the desired minimum spring value.
+	 * @param maxValue
+	 * 		the desired maximum spring value.
+	 * @return whether or not a fling started.
+	 */
+	public boolean release(@NonNull final Spring spring, final double friction, final double minValue,
+	                       final double maxValue) {
+		final double position = spring.getCurrentValue();
+		final double restPosition = mDecay.set(position, spring.getVelocity(), friction).getRestPosition();
+
+		if (position > maxValue && restPosition > maxValue) {
+			spring.setEndValue(maxValue);
+			return false;
+		} else if (position < minValue && restPosition < minValue) {
+			spring.setEndValue(minValue);
+			return false;
+		}
+
+		if (restPosition > maxValue) {
+			mBounceValue = maxValue;
+		} else if (restPosition < minValue) {
+			mBounceValue = minValue;
+		}
+
+		mBounceTime = restPosition > maxValue || restPosition < minValue
+				? mDecay.getTimeToPosition(mBounceValue) : Double.POSITIVE_INFINITY;
+		mRestTime = mDecay.getTimeToSpeed(spring.getRestSpeedThreshold());
+
+		spring.setAtRest();
+
+		mSpring = spring;
+		mFlinging = true;
+		mStarted = false;
+
+		return true;
+	}
+
+	/**
+	 * Sets the current value of the spring from the fling, or hands the fling to the spring at the
+	 * bounce time.
+	 *
+	 * @param timeNanos
+	 * 		the current time, e.g. of the frame.
+	 * @return whether or not the fling needs another step.
+	 */
+	public boolean step(final long timeNanos) {
+		if (!mFlinging || mSpring == null) {
+			return false;
+		}
+
+		if (!mStarted) {
+			mStarted = true;
+			mStartTimeNanos = timeNanos;
+		}
+
+		final double time = (timeNanos - mStartTimeNanos) / NANOSECONDS_PER_SECOND;
+
+		if (time >= mBounceTime) {
+			mFlinging = false;
+			mSpring.setCurrentValue(mBounceValue);
+			mSpring.setVelocity(mDecay.getVelocity(mBounceTime));
+			mSpring.setEndValue(mBounceValue);
+		} else if (time >= mRestTime) {
+			mFlinging = false;
+			mSpring.setCurrentValue(mDecay.getRestPosition());
+		} else {
+			mSpring.setCurrentValue(mDecay.getPosition(time));
+		}
+
+		return mFlinging;
+	}
+
+	/**
+	 * Stops the fling, if any, and hands its position and velocity to the spring.
+	 *
+	 * @param timeNanos
+	 * 		the current time.
+	 */
+	public void stop(final long timeNanos) {
+		if (!mFlinging || mSpring == null) {
+			return;
+		}
+
+		mFlinging = false;
+
+		final double time = mStarted ? (timeNanos - mStartTimeNanos) / NANOSECONDS_PER_SECOND : 0;
+
+		mSpring.setCurrentValue(mDecay.getPosition(time));
+		mSpring.setVelocity(mDecay.getVelocity(time));
+	}
+
+	/**
+	 * @return whether or not the spring is moving freely, driven by a {@link FlingDecay}.
+	 */
+	public boolean isFlinging() {
+		return mFlinging;
+	}
+}
@@ -0,0 +1,196 @@
+package com.tumblr.backboard.trace;
+
+import androidx.annotation.NonNull;
+
+import com.tumblr.backboard.MotionSample;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+
+/**
+ * A recorded stream of touch samples, memory-mapped from a file written by a
+ * {@link TouchTraceWriter}. Reading an event copies it into a {@link MotionSample} without
+ * allocating, and only touches the pages of that event, so long traces replay quickly.
+ * <p>
+ * The format is big-endian: a header of {@link #MAGIC} and {@link #VERSION}, then one record per
+ * event, in the order they were recorded:
+ * <pre>
+ * int   action
+ * long  downTime, eventTime
+ * float x, y
+ * float translationX, translationY
+ * int   width, height
+ * int   historySize
+ * (long eventTime, float x, float y) * historySize, oldest first
+ * </pre>
+ * Only the first pointer is recorded, matching {@link com.tumblr.backboard.InputSample}.
+ */
+public final class TouchTrace {
+
+	/**
+	 * The first four bytes of a trace, "BBTT".
+	 */
+	public static final int MAGIC = 0x42425454;
+	/**
+	 * The version of the format.
+	 */
+	public static final int VERSION = 1;
+
+	/**
+	 * The size of the header, in bytes.
+	 */
+	static final int HEADER_SIZE = 8;
+	/**
+	 * The size of a record without its history, in bytes.
+	 */
+	static final int RECORD_SIZE = 48;
+	/**
+	 * The size of each historical sample of a record, in bytes.
+	 */
+	static final int HISTORY_ENTRY_SIZE = 16;
+
+	private static final int VERSION_OFFSET = 4;
+
+	private static final int DOWN_TIME = 4;
+	private static final int EVENT_TIME = 12;
+	private static final int X = 20;
+	private static final int Y = 24;
+	private static final int TRANSLATION_X = 28;
+	private static final int TRANSLATION_Y = 32;
+	private static final int WIDTH = 36;
+	private static final int HEIGHT = 40;
+	private static final int HISTORY_SIZE = 44;
+
+	private static final int HISTORY_X = 8;
+	private static final int HISTORY_Y = 12;
+
+	@NonNull
+	private final MappedByteBuffer mBuffer;
+	/**
+	 * The position of each record in {@link #mBuffer}.
+	 */
+	@NonNull
+	private final int[] mOffsets;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param buffer
+	 * 		the mapped trace.
+	 * @throws IOException
+	 * 		if the buffer is not a valid trace.
+	 */
+	private TouchTrace(@NonNull final MappedByteBuffer buffer) throws IOException {
+		mBuffer = buffer;
+
+		final int limit = buffer.limit();
+
+		if (limit < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+			throw new IOException("not a touch trace");
+		}
+
+		if (buffer.getInt(VERSION_OFFSET) != VERSION) {
+			throw new IOException("unsupported touch trace version " + buffer.getInt(VERSION_OFFSET));
+		}
+
+		// index the records, which vary in size with their history
+		int count = 0;
+		final int[] offsets = new int[Math.max(1, (limit - HEADER_SIZE) / RECORD_SIZE)];
+
+		for (int offset = HEADER_SIZE; offset < limit; count++) {
+			if (limit - offset < RECORD_SIZE) {
+				throw new IOException("truncated touch trace at event " + count);
+			}
+
+			final int historySize = buffer.getInt(offset + HISTORY_SIZE);
+			final long size = RECORD_SIZE + (long) historySize * HISTORY_ENTRY_SIZE;
+
+			if (historySize < 0 || size > limit - offset) {
+				throw new IOException("truncated touch trace at event " + count);
+			}
+
+			offsets[count] = offset;
+			offset += (int) size;
+		}
+
+		mOffsets = count == offsets.length ? offsets : Arrays.copyOf(offsets, count);
+	}
+
+	/**
+	 * Maps a trace into memory. The file must not be modified while the trace is in use.
+	 *
+	 * @param file
+	 * 		a file written by a {@link TouchTraceWriter}.
+	 * @return the trace.
+	 * @throws IOException
+	 * 		if the file cannot be read or is not a valid trace.
+	 */
+	@NonNull
+	public static TouchTrace map(@NonNull final File file) throws IOException {
+		final FileInputStream stream = new FileInputStream(file);
+
+		try {
+			final FileChannel channel = stream.getChannel();
+
+			// the mapping stays valid after the channel is closed
+			return new TouchTrace(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+		} finally {
+			stream.close();
+		}
+	}
+
+	/**
+	 * @return the number of events.
+	 */
+	public int getEventCount() {
+		return mOffsets.length;
+	}
+
+	/**
+	 * <i>Note that this method does not check the validity of</i> <code>index</code>.
+	 *
+	 * @param index
+	 * 		the index of the event.
+	 * @return the time of the event, in milliseconds.
+	 */
+	public long getEventTime(final int index) {
+		return mBuffer.getLong(mOffsets[index] + EVENT_TIME);
+	}
+
+	/**
+	 * Copies an event into a sample, replacing its fields and history. Does not allocate once the
+	 * history of the sample is large enough.
+	 * <p>
+	 * <i>Note that this method does not check the validity of</i> <code>index</code>.
+	 *
+	 * @param index
+	 * 		the index of the event.
+	 * @param sample
+	 * 		the sample to fill.
+	 * @return the sample, for chaining.
+	 */
+	@NonNull
+	public MotionSample read(final int index, @NonNull final MotionSample sample) {
+		final MappedByteBuffer buffer = mBuffer;
+		final int offset = mOffsets[index];
+		final int historySize = buffer.getInt(offset + HISTORY_SIZE);
+
+		sample.clearHistory();
+
+		for (int i = 0, entry = offset + RECORD_SIZE; i < historySize; i++, entry += HISTORY_ENTRY_SIZE) {
+			sample.addHistory(buffer.getLong(entry), buffer.getFloat(entry + HISTORY_X),
+					buffer.getFloat(entry + HISTORY_Y));
+		}
+
+		sample.setCurrent(buffer.getInt(offset), buffer.getLong(offset + DOWN_TIME),
+				buffer.getLong(offset + EVENT_TIME), buffer.getFloat(offset + X), buffer.getFloat(offset + Y));
+		sample.setTarget(buffer.getFloat(offset + TRANSLATION_X), buffer.getFloat(offset + TRANSLATION_Y),
+				buffer.getInt(offset + WIDTH), buffer.getInt(offset + HEIGHT));
+
+		return sample;
+	}
+}
@@ -0,0 +1,124 @@
+package com.tumblr.backboard.trace;
+
+import androidx.annotation.NonNull;
+
+import com.tumblr.backboard.InputSample;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Writes {@link InputSample}s to a file in the {@link TouchTrace} format. Samples are buffered, so
+ * writing one does not allocate or, usually, touch the file.
+ * <p>
+ * Not thread safe.
+ */
+public class TouchTraceWriter implements Closeable {
+
+	/**
+	 * The default size of the buffer, in bytes.
+	 */
+	public static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+	@NonNull
+	private final FileOutputStream mStream;
+	@NonNull
+	private final FileChannel mChannel;
+	@NonNull
+	private ByteBuffer mBuffer;
+	private int mEventCount;
+
+	/**
+	 * Constructor. Creates or replaces the file and writes the header.
+	 *
+	 * @param file
+	 * 		the file to write.
+	 * @throws IOException
+	 * 		if the file cannot be written.
+	 */
+	public TouchTraceWriter(@NonNull final File file) throws IOException {
+		mStream = new FileOutputStream(file);
+		mChannel = mStream.getChannel();
+		mBuffer = ByteBuffer.allocate(DEFAULT_BUFFER_SIZE);
+
+		mBuffer.putInt(TouchTrace.MAGIC).putInt(TouchTrace.VERSION);
+	}
+
+	/**
+	 * Appends a sample.
+	 *
+	 * @param sample
+	 * 		the sample to write.
+	 * @throws IOException
+	 * 		if the buffer cannot be flushed.
+	 */
+	public void write(@NonNull final InputSample sample) throws IOException {
+		final int historySize = sample.getHistorySize();
+		final int size = TouchTrace.RECORD_SIZE + historySize * TouchTrace.HISTORY_ENTRY_SIZE;
+
+		if (mBuffer.remaining() < size) {
+			flush();
+
+			if (mBuffer.capacity() < size) {
+				mBuffer = ByteBuffer.allocate(size);
+			}
+		}
+
+		final ByteBuffer buffer = mBuffer;
+
+		buffer.putInt(sample.getAction())
+				.putLong(sample.getDownTime())
+				.putLong(sample.getEventTime())
+				.putFloat(sample.getX())
+				.putFloat(sample.getY())
+				.putFloat(sample.getTranslationX())
+				.putFloat(sample.getTranslationY())
+				.putInt(sample.getWidth())
+				.putInt(sample.getHeight())
+				.putInt(historySize);
+
+		for (int i = 0; i < historySize; i++) {
+			buffer.putLong(sample.getHistoricalEventTime(i))
+					.putFloat(sample.getHistoricalX(i))
+					.putFloat(sample.getHistoricalY(i));
+		}
+
+		mEventCount++;
+	}
+
+	/**
+	 * @return the number of samples written.
+	 */
+	public int getEventCount() {
+		return mEventCount;
+	}
+
+	/**
+	 * Writes the buffered samples to the file.
+	 *
+	 * @throws IOException
+	 * 		if the file cannot be written.
+	 */
+	public void flush() throws IOException {
+		mBuffer.flip();
+
+		while (mBuffer.hasRemaining()) {
+			mChannel.write(mBuffer);
+		}
+
+		mBuffer.clear();
+	}
+
+	@Override
+	public void close() throws IOException {
+		try {
+			flush();
+		} finally {
+			mStream.close();
+		}
+	}
+}
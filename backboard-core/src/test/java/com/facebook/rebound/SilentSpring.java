@@ -0,0 +1,77 @@
+package com.facebook.rebound;
+
+/**
+ * A spring that only keeps its state: it neither steps nor notifies its listeners. Rebound
+ * allocates an iterator every time it notifies the listeners of a spring, so allocation tests
+ * drive Backboard with this spring to count only what Backboard allocates.
+ * <p>
+ * It is in Rebound's package because the constructor of {@link Spring} is package-private.
+ */
+public class SilentSpring extends Spring {
+
+	private double mPosition;
+	private double mVelocity;
+	private double mEnd;
+
+	/**
+	 * Constructor. The spring is not registered with the system, so the system never steps it.
+	 */
+	public SilentSpring() {
+		super(new BaseSpringSystem(new SteppingLooper()));
+	}
+
+	@Override
+	public Spring setCurrentValue(final double currentValue) {
+		return setCurrentValue(currentValue, true);
+	}
+
+	@Override
+	public Spring setCurrentValue(final double currentValue, final boolean setAtRest) {
+		mPosition = currentValue;
+
+		if (setAtRest) {
+			setAtRest();
+		}
+
+		return this;
+	}
+
+	@Override
+	public double getCurrentValue() {
+		return mPosition;
+	}
+
+	@Override
+	public Spring setEndValue(final double endValue) {
+		mEnd = endValue;
+		return this;
+	}
+
+	@Override
+	public double getEndValue() {
+		return mEnd;
+	}
+
+	@Override
+	public Spring setVelocity(final double velocity) {
+		mVelocity = velocity;
+		return this;
+	}
+
+	@Override
+	public double getVelocity() {
+		return mVelocity;
+	}
+
+	@Override
+	public Spring setAtRest() {
+		mEnd = mPosition;
+		mVelocity = 0;
+		return this;
+	}
+
+	@Override
+	public boolean isAtRest() {
+		return mVelocity == 0 && mPosition == mEnd;
+	}
+}
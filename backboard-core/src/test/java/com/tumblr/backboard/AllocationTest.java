@@ -0,0 +1,238 @@
+package com.tumblr.backboard;
+
+import com.facebook.rebound.SilentSpring;
+import com.facebook.rebound.Spring;
+import com.tumblr.backboard.imitator.Imitator;
+import com.tumblr.backboard.imitator.ImpulseVelocityEstimator;
+import com.tumblr.backboard.imitator.SampleImitator;
+import com.tumblr.backboard.imitator.SnapGrid;
+import com.tumblr.backboard.imitator.SnapPoints;
+import com.tumblr.backboard.imitator.TouchPredictor;
+import com.tumblr.backboard.performer.FloatPerformer;
+import com.tumblr.backboard.performer.FloatTarget;
+import com.tumblr.backboard.physics.BaseSpringBatch;
+import com.tumblr.backboard.physics.SpringBatchAdapter;
+import com.tumblr.backboard.physics.SpringFling;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * Checks that the paths Backboard runs for every touch event and every frame do not allocate once
+ * warmed up, since the garbage collections that allocation causes drop frames. Each path is run
+ * until its lazily created state exists, then run again while the bytes allocated by the thread
+ * are counted, and any allocation beyond a small fixed overhead fails.
+ * <p>
+ * <code>Actor</code>, <code>MotionImitator</code>, <code>InertialImitator</code>,
+ * <code>Performer</code> and <code>MapPerformer</code> do their per-event and per-frame work in the
+ * classes checked here. Springs are {@link SilentSpring}s, since Rebound allocates an iterator
+ * whenever it notifies the listeners of a spring.
+ * <p>
+ * The build disables escape analysis for this test, to count allocations the way ART makes them.
+ */
+public class AllocationTest {
+
+	private static final int WARM_UP_OPERATIONS = 20000;
+	private static final int MEASURED_OPERATIONS = 10000;
+	/**
+	 * The bytes a whole measurement may allocate, however many operations it runs, e.g. for a
+	 * one-off in the counter itself. One small object every thousand operations is more.
+	 */
+	private static final long FIXED_OVERHEAD_BYTES = 64;
+
+	/**
+	 * The time between moves, in milliseconds.
+	 */
+	private static final long MOVE_INTERVAL = 8;
+	private static final long FRAME_INTERVAL_NANOS = 16666667;
+	private static final double FRAME_SECONDS = FRAME_INTERVAL_NANOS / 1e9;
+	private static final int GESTURE_EVENTS = 12;
+	private static final int VIEW_SIZE = 100;
+	private static final float CENTER = VIEW_SIZE / 2f;
+
+	private static final com.sun.management.ThreadMXBean THREAD_MX_BEAN =
+			(com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+	/**
+	 * A path to check.
+	 */
+	private interface Operation {
+		/**
+		 * Runs the path once. Called many times, with an increasing index.
+		 *
+		 * @param index
+		 * 		the index of the operation, e.g. to alternate between inputs.
+		 */
+		void run(int index);
+	}
+
+	/**
+	 * Sinks the values of performers, so that they are not optimized away.
+	 */
+	private static final class Sink implements FloatTarget {
+		private float mValue;
+
+		@Override
+		public void setValue(final float value) {
+			mValue += value;
+		}
+	}
+
+	@BeforeClass
+	public static void enableCounting() {
+		assumeTrue("this JVM does not count allocated bytes", THREAD_MX_BEAN.isThreadAllocatedMemorySupported());
+		THREAD_MX_BEAN.setThreadAllocatedMemoryEnabled(true);
+	}
+
+	@Test
+	public void imitateMoves() {
+		final SampleImitator imitator = new SampleImitator(new SilentSpring(), MotionAxis.X);
+		final MotionSample sample = new MotionSample().setTarget(0, 0, VIEW_SIZE, VIEW_SIZE);
+
+		imitator.setTouchPredictor(new TouchPredictor());
+		imitator.imitate(sample.setCurrent(InputSample.ACTION_DOWN, 0, 0, CENTER, CENTER));
+
+		assertNoAllocation("SampleImitator.imitate", index -> {
+			final long eventTime = index * MOVE_INTERVAL;
+			final float offset = index % 2 == 0 ? 1 : -1;
+
+			// a batched event, with two historical samples
+			sample.setCurrent(InputSample.ACTION_MOVE, 0, eventTime, CENTER + offset, CENTER - offset)
+					.clearHistory()
+					.addHistory(eventTime - 6, CENTER, CENTER)
+					.addHistory(eventTime - 3, CENTER - offset, CENTER + offset);
+			imitator.imitate(sample);
+		});
+	}
+
+	@Test
+	public void imitateGestures() {
+		final SampleImitator imitator = new SampleImitator(new SilentSpring(), MotionAxis.Y, 0,
+				Imitator.TRACK_DELTA, Imitator.FOLLOW_SPRING)
+				.setVelocityEstimator(new ImpulseVelocityEstimator());
+		final MotionSample sample = new MotionSample().setTarget(0, 0, VIEW_SIZE, VIEW_SIZE);
+
+		assertNoAllocation("SampleImitator gestures", index -> {
+			final int event = index % GESTURE_EVENTS;
+			final long downTime = (index - event) * MOVE_INTERVAL;
+			final int action = event == 0 ? InputSample.ACTION_DOWN
+					: event == GESTURE_EVENTS - 1 ? InputSample.ACTION_UP : InputSample.ACTION_MOVE;
+
+			imitator.imitate(sample.setCurrent(action, downTime, index * MOVE_INTERVAL, CENTER, CENTER + event * 4));
+		});
+	}
+
+	@Test
+	public void flingFrames() {
+		final Spring spring = new SilentSpring();
+		final SpringFling fling = new SpringFling();
+		final long[] frameTimeNanos = new long[1];
+
+		assertNoAllocation("SpringFling.step", index -> {
+			if (!fling.isFlinging()) {
+				// alternately within bounds, and through one, to bounce
+				spring.setCurrentValue(0);
+				spring.setVelocity(index % 2 == 0 ? 400 : -4000);
+				fling.release(spring, 1, -500, 500);
+			}
+
+			frameTimeNanos[0] += FRAME_INTERVAL_NANOS;
+			fling.step(frameTimeNanos[0]);
+		});
+	}
+
+	@Test
+	public void perform() {
+		final Sink sink = new Sink();
+		final FloatPerformer performer = new FloatPerformer(sink);
+		final FloatPerformer mapPerformer = new FloatPerformer(sink).setRange(0, 1, 1, 2);
+		final Spring first = new SilentSpring().setCurrentValue(0.25);
+		final Spring second = new SilentSpring().setCurrentValue(0.75);
+
+		assertNoAllocation("FloatPerformer.onSpringUpdate", index -> {
+			final Spring spring = index % 2 == 0 ? first : second;
+
+			performer.onSpringUpdate(spring);
+			mapPerformer.onSpringUpdate(spring);
+		});
+	}
+
+	@Test
+	public void batchFrames() {
+		for (int solver : new int[] { BaseSpringBatch.SOLVER_RK4, BaseSpringBatch.SOLVER_ANALYTIC }) {
+			final BaseSpringBatch batch = new BaseSpringBatch().setSolver(solver);
+			final SpringBatchAdapter adapter = new SpringBatchAdapter(new FloatPerformer(new Sink()),
+					new FloatPerformer(new Sink()).setRange(0, 1, 0, 360));
+			final int[] handles = new int[64];
+
+			for (int i = 0; i < handles.length; i++) {
+				handles[i] = batch.create();
+				batch.setListener(handles[i], adapter);
+			}
+
+			assertNoAllocation("BaseSpringBatch.step, solver " + solver, index -> {
+				// toggle every half second, so that some springs come to rest and are woken again
+				if (index % 30 == 0) {
+					for (int i = 0; i < handles.length; i++) {
+						batch.setEndValue(handles[i], (index / 30 + i) % 2);
+					}
+				}
+
+				batch.step(FRAME_SECONDS);
+			});
+		}
+	}
+
+	@Test
+	public void findSnapTargets() {
+		final SnapPoints snapPoints = new SnapPoints(0, 100, 200, 300, 400);
+		final SnapGrid grid = new SnapGrid(VIEW_SIZE);
+		final float[] x = new float[25];
+		final float[] y = new float[25];
+
+		for (int i = 0; i < x.length; i++) {
+			x[i] = (i % 5) * VIEW_SIZE;
+			y[i] = (i / 5) * VIEW_SIZE;
+		}
+
+		grid.set(x, y, x.length);
+
+		assertNoAllocation("snap selection", index -> {
+			final float position = index % 500;
+
+			snapPoints.getTargetIndex(position, index % 7 * 100 - 300, 4, -1, 1);
+			grid.findNearest(position, 500 - position, VIEW_SIZE);
+		});
+	}
+
+	/**
+	 * Warms a path up, then runs it while counting.
+	 *
+	 * @param name
+	 * 		the name of the path, for the failure.
+	 * @param operation
+	 * 		the path.
+	 */
+	private static void assertNoAllocation(final String name, final Operation operation) {
+		for (int i = 0; i < WARM_UP_OPERATIONS; i++) {
+			operation.run(i);
+		}
+
+		final long threadId = Thread.currentThread().getId();
+		final long start = THREAD_MX_BEAN.getThreadAllocatedBytes(threadId);
+
+		for (int i = WARM_UP_OPERATIONS; i < WARM_UP_OPERATIONS + MEASURED_OPERATIONS; i++) {
+			operation.run(i);
+		}
+
+		final long bytes = THREAD_MX_BEAN.getThreadAllocatedBytes(threadId) - start;
+
+		assertTrue(name + " allocated " + bytes + " bytes in " + MEASURED_OPERATIONS + " operations",
+				bytes <= FIXED_OVERHEAD_BYTES);
+	}
+}
@@ -0,0 +1,103 @@
+package com.tumblr.backboard.imitator;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Compares {@link SnapGrid#findNearest(float, float, float)} against a brute-force search.
+ */
+public class SnapGridTest {
+
+	@Test
+	public void matchesBruteForce() {
+		final Random random = new Random(11);
+
+		for (float cellSize : new float[] { 5, 40, 300 }) {
+			for (int count : new int[] { 1, 12, 500 }) {
+				final float[] x = new float[count];
+				final float[] y = new float[count];
+
+				for (int i = 0; i < count; i++) {
+					x[i] = random.nextFloat() * 1000;
+					y[i] = random.nextFloat() * 600 - 300;
+				}
+
+				final SnapGrid grid = new SnapGrid(cellSize);
+				grid.set(x, y, count);
+
+				for (int query = 0; query < 500; query++) {
+					assertNearest(grid, x, y, count, random.nextFloat() * 1200 - 100,
+							random.nextFloat() * 800 - 400, random.nextFloat() * 120);
+				}
+			}
+		}
+	}
+
+	@Test
+	public void growsCellsForSparseTargets() {
+		final float[] x = { 0, 1e6f, 5e5f };
+		final float[] y = { 0, 1e6f, 10 };
+		final SnapGrid grid = new SnapGrid(1);
+
+		grid.set(x, y, x.length);
+
+		assertEquals(0, grid.findNearest(0.5f, 0.5f, 1));
+		assertEquals(2, grid.findNearest(5e5f, 0, 20));
+		assertEquals(-1, grid.findNearest(5e5f, 0, 5));
+		assertEquals(1, grid.findNearest(1e6f, 1e6f, 1));
+	}
+
+	@Test
+	public void setReplacesTargets() {
+		final SnapGrid grid = new SnapGrid(10);
+
+		assertEquals(-1, grid.findNearest(0, 0, 100));
+
+		grid.set(new float[] { 5, 50 }, new float[] { 0, 0 }, 2);
+		assertEquals(0, grid.findNearest(0, 0, 100));
+
+		// the same query after the targets move is not answered from the last query
+		grid.set(new float[] { 50, 5 }, new float[] { 0, 0 }, 1);
+		assertEquals(1, grid.size());
+		assertEquals(0, grid.findNearest(0, 0, 100));
+		assertEquals(-1, grid.findNearest(0, 0, 40));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void rejectsEmptyCells() {
+		new SnapGrid(0);
+	}
+
+	private static void assertNearest(final SnapGrid grid, final float[] x, final float[] y, final int count,
+	                                  final float queryX, final float queryY, final float radius) {
+		float minDistSq = radius * radius;
+		int expected = -1;
+
+		for (int i = 0; i < count; i++) {
+			final float dx = x[i] - queryX;
+			final float dy = y[i] - queryY;
+			final float distSq = dx * dx + dy * dy;
+
+			if (distSq < minDistSq) {
+				minDistSq = distSq;
+				expected = i;
+			}
+		}
+
+		final int actual = grid.findNearest(queryX, queryY, radius);
+		final String query = "(" + queryX + ", " + queryY + ") within " + radius;
+
+		if (expected < 0) {
+			assertEquals(query, -1, actual);
+		} else {
+			// equally distant targets may be visited in another order
+			final float dx = x[actual] - queryX;
+			final float dy = y[actual] - queryY;
+
+			assertEquals(query, minDistSq, dx * dx + dy * dy, 0);
+		}
+	}
+}
@@ -0,0 +1,86 @@
+package com.tumblr.backboard.imitator;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests snap selection in {@link SnapPoints}, as used by <code>SnapImitator</code>.
+ */
+public class SnapPointsTest {
+
+	private static final double FRICTION = 4;
+
+	@Test
+	public void sortsValues() {
+		assertArrayEquals(new double[] { -10, 0, 25, 50 }, new SnapPoints(50, 0, -10, 25).toArray(), 0);
+	}
+
+	@Test
+	public void nearestIndexMatchesLinearScan() {
+		final Random random = new Random(7);
+		final double[] values = new double[37];
+
+		for (int i = 0; i < values.length; i++) {
+			values[i] = random.nextDouble() * 2000 - 1000;
+		}
+
+		final SnapPoints snapPoints = new SnapPoints(values);
+
+		for (int i = 0; i < 1000; i++) {
+			final double value = random.nextDouble() * 2400 - 1200;
+			int nearest = 0;
+
+			for (int j = 1; j < snapPoints.size(); j++) {
+				if (Math.abs(snapPoints.get(j) - value) < Math.abs(snapPoints.get(nearest) - value)) {
+					nearest = j;
+				}
+			}
+
+			assertEquals("nearest to " + value, nearest, snapPoints.getNearestIndex(value));
+		}
+
+		assertEquals(5, snapPoints.getNearestIndex(snapPoints.get(5)));
+	}
+
+	@Test
+	public void tieGoesToLowerSnapPoint() {
+		assertEquals(0, new SnapPoints(0, 100).getNearestIndex(50));
+	}
+
+	@Test
+	public void emptyHasNoTarget() {
+		final SnapPoints snapPoints = new SnapPoints();
+
+		assertEquals(-1, snapPoints.getNearestIndex(3));
+		assertEquals(-1, snapPoints.getTargetIndex(3, 100, FRICTION, -1, 1));
+	}
+
+	@Test
+	public void targetIsNearestToProjectedRest() {
+		final SnapPoints snapPoints = new SnapPoints(0, 100, 200, 300, 400);
+
+		// without velocity, the nearest snap point
+		assertEquals(1, snapPoints.getTargetIndex(130, 0, FRICTION, -1, SnapPoints.NO_MAX_SKIP));
+		// 130 + 1000 / 4 = 380
+		assertEquals(4, snapPoints.getTargetIndex(130, 1000, FRICTION, -1, SnapPoints.NO_MAX_SKIP));
+		// 130 - 400 / 4 = 30
+		assertEquals(0, snapPoints.getTargetIndex(130, -400, FRICTION, -1, SnapPoints.NO_MAX_SKIP));
+	}
+
+	@Test
+	public void maxSkipCountsFromStart() {
+		final SnapPoints snapPoints = new SnapPoints(0, 100, 200, 300, 400);
+
+		assertEquals(2, snapPoints.getTargetIndex(130, 1000, FRICTION, 1, 1));
+		assertEquals(0, snapPoints.getTargetIndex(130, -4000, FRICTION, 1, 1));
+		assertEquals(3, snapPoints.getTargetIndex(130, 1000, FRICTION, 1, 2));
+		// without a start index, counts from the snap point nearest to the position
+		assertEquals(2, snapPoints.getTargetIndex(130, 1000, FRICTION, -1, 1));
+		// a skip of 0 returns to the start
+		assertEquals(3, snapPoints.getTargetIndex(130, -400, FRICTION, 3, 0));
+	}
+}
@@ -0,0 +1,94 @@
+package com.tumblr.backboard.imitator;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests {@link LeastSquaresVelocityEstimator} and {@link ImpulseVelocityEstimator} on motions
+ * whose velocity is known.
+ */
+public class VelocityEstimatorTest {
+
+	private static final double TOLERANCE = 0.5;
+
+	@Test
+	public void constantVelocity() {
+		for (VelocityEstimator estimator : estimators()) {
+			for (long time = 0; time <= 96; time += 8) {
+				// 1.2 units per millisecond
+				estimator.addSample(time, 30 + 1.2f * time);
+			}
+
+			assertEquals(estimator.getClass().getSimpleName(), 1200, estimator.getVelocity(), TOLERANCE);
+		}
+	}
+
+	@Test
+	public void leastSquaresFitsAcceleration() {
+		final VelocityEstimator estimator = new LeastSquaresVelocityEstimator();
+
+		for (long time = 0; time <= 96; time += 8) {
+			final double seconds = time / 1000.0;
+			// starts at 500 units per second, and accelerates at 4000 units per second squared
+			estimator.addSample(time, (float) (500 * seconds + 2000 * seconds * seconds));
+		}
+
+		assertEquals(500 + 4000 * 0.096, estimator.getVelocity(), TOLERANCE);
+	}
+
+	@Test
+	public void impulseFavorsRecentMotion() {
+		final VelocityEstimator estimator = new ImpulseVelocityEstimator();
+		float value = 0;
+
+		for (long time = 0; time <= 96; time += 8) {
+			// slows from 2 to 0.5 units per millisecond halfway
+			value += time <= 48 ? 16 : 4;
+			estimator.addSample(time, value);
+		}
+
+		// the slower, most recent segments outweigh the faster ones
+		assertEquals(500, estimator.getVelocity(), 1);
+	}
+
+	@Test
+	public void ignoresSamplesPastHorizon() {
+		for (VelocityEstimator estimator : estimators()) {
+			estimator.addSample(0, 0);
+			estimator.addSample(10, 100);
+
+			for (long time = 200; time <= 260; time += 10) {
+				estimator.addSample(time, 100 + 0.5f * (time - 200));
+			}
+
+			assertEquals(7, estimator.getSampleCount());
+			assertEquals(estimator.getClass().getSimpleName(), 500, estimator.getVelocity(), TOLERANCE);
+		}
+	}
+
+	@Test
+	public void needsTwoSamples() {
+		for (VelocityEstimator estimator : estimators()) {
+			assertEquals(0, estimator.getVelocity(), 0);
+
+			estimator.addSample(0, 10);
+			assertEquals(0, estimator.getVelocity(), 0);
+
+			// same time replaces, older is ignored
+			estimator.addSample(0, 20);
+			estimator.addSample(-5, 0);
+			assertEquals(1, estimator.getSampleCount());
+
+			estimator.addSample(10, 30);
+			assertEquals(estimator.getClass().getSimpleName(), 1000, estimator.getVelocity(), TOLERANCE);
+
+			estimator.clear();
+			assertEquals(0, estimator.getSampleCount());
+		}
+	}
+
+	private static VelocityEstimator[] estimators() {
+		return new VelocityEstimator[] { new LeastSquaresVelocityEstimator(), new ImpulseVelocityEstimator() };
+	}
+}
@@ -0,0 +1,105 @@
+package com.tumblr.backboard.physics;
+
+import com.facebook.rebound.Spring;
+import com.tumblr.backboard.imitator.SpringImitator;
+
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests the dependency order and cycle checks of {@link BaseSpringGraph}.
+ */
+public class BaseSpringGraphTest {
+
+	@Test
+	public void ordersLeadersBeforeFollowers() {
+		final BaseSpringGraph graph = new BaseSpringGraph();
+
+		// created in reverse, so that creation order is not the answer
+		final Spring last = graph.createSpring();
+		final Spring left = graph.createSpring();
+		final Spring right = graph.createSpring();
+		final Spring first = graph.createSpring();
+
+		graph.addDependency(first, left)
+				.addDependency(first, right)
+				.addDependency(left, last)
+				.addDependency(right, last)
+				.build();
+
+		final List<Spring> order = graph.getOrderedSprings();
+
+		assertEquals(4, order.size());
+		assertTrue(order.indexOf(first) < order.indexOf(left));
+		assertTrue(order.indexOf(first) < order.indexOf(right));
+		assertTrue(order.indexOf(left) < order.indexOf(last));
+		assertTrue(order.indexOf(right) < order.indexOf(last));
+	}
+
+	@Test
+	public void rejectsCycle() {
+		final BaseSpringGraph graph = new BaseSpringGraph();
+		final Spring a = graph.createSpring();
+		final Spring b = graph.createSpring();
+		final Spring c = graph.createSpring();
+
+		graph.addDependency(a, b).addDependency(b, c);
+
+		try {
+			graph.addDependency(c, a);
+			fail("cycle was accepted");
+		} catch (IllegalArgumentException e) {
+			assertTrue(e.getMessage(), e.getMessage().endsWith(
+					c.getId() + " -> " + a.getId() + " -> " + b.getId() + " -> " + c.getId()));
+		}
+
+		// the rejected dependency was not added
+		graph.build();
+		assertEquals(a, graph.getOrderedSprings().get(0));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void rejectsSelfDependency() {
+		final BaseSpringGraph graph = new BaseSpringGraph();
+		final Spring spring = graph.createSpring();
+
+		graph.addDependency(spring, spring);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void rejectsSpringOfAnotherGraph() {
+		final BaseSpringGraph graph = new BaseSpringGraph();
+
+		graph.addDependency(graph.createSpring(), new BaseSpringGraph().createSpring());
+	}
+
+	@Test
+	public void propagatesInOneLoop() {
+		final BaseSpringGraph graph = new BaseSpringGraph();
+
+		// the follower is created first, so it would be stepped first in a SpringSystem
+		final Spring follower = graph.createSpring();
+		final Spring leader = graph.createSpring();
+
+		graph.imitate(leader, new SpringImitator(follower));
+		leader.setEndValue(100);
+
+		assertTrue(graph.loop(16));
+		assertEquals(leader.getCurrentValue(), follower.getEndValue(), 0);
+		assertTrue(follower.getCurrentValue() > 0);
+
+		for (int frame = 0; frame < 1000 && graph.loop(16); frame++) {
+			assertEquals(leader.getCurrentValue(), follower.getEndValue(), 0);
+		}
+
+		assertTrue(graph.getIsIdle());
+		assertFalse(graph.loop(16));
+		assertEquals(100, follower.getCurrentValue(), 0);
+	}
+}
@@ -0,0 +1,76 @@
+package com.tumblr.backboard.physics;
+
+import com.facebook.rebound.SpringConfig;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Compares each branch of {@link DampedOscillator} against the RK4 integration of
+ * {@link BaseSpringBatch}, which matches Rebound's.
+ */
+public class DampedOscillatorTest {
+
+	private static final double FRAME_SECONDS = 0.016;
+	private static final int FRAMES = 90;
+	private static final double TOLERANCE = 1e-4;
+
+	@Test
+	public void underDampedMatchesRk4() {
+		assertMatchesRk4(200, 8, 0, 0, 100);
+		assertMatchesRk4(40, 7, -30, 500, 0);
+	}
+
+	@Test
+	public void criticallyDampedMatchesRk4() {
+		assertMatchesRk4(100, 20, 0, 0, 100);
+		assertMatchesRk4(400, 40, 50, -800, 0);
+	}
+
+	@Test
+	public void overDampedMatchesRk4() {
+		assertMatchesRk4(100, 60, 0, 0, 100);
+		assertMatchesRk4(10, 30, 20, 300, -20);
+	}
+
+	@Test
+	public void coastMatchesRk4() {
+		assertMatchesRk4(0, 3, 10, 600, 0);
+		assertMatchesRk4(0, 0, 10, -40, 0);
+	}
+
+	@Test
+	public void seeksToAnyTime() {
+		final DampedOscillator oscillator = new DampedOscillator().set(200, 8, 0, 0, 100);
+		final double late = oscillator.getPosition(1.2);
+
+		// evaluating out of order does not change the result
+		oscillator.getPosition(0.3);
+		assertEquals(late, oscillator.getPosition(1.2), 0);
+		assertEquals(100, oscillator.getPosition(30), TOLERANCE);
+		assertEquals(0, oscillator.getVelocity(30), TOLERANCE);
+	}
+
+	private static void assertMatchesRk4(final double tension, final double friction, final double position,
+	                                     final double velocity, final double endValue) {
+		final DampedOscillator oscillator = new DampedOscillator().set(tension, friction, position, velocity, endValue);
+		final BaseSpringBatch batch = new BaseSpringBatch().setRestSpeedThreshold(0).setRestDisplacementThreshold(0);
+		final int handle = batch.create(new SpringConfig(tension, friction));
+
+		batch.setCurrentValue(handle, position);
+		batch.setEndValue(handle, endValue);
+		batch.setVelocity(handle, velocity);
+
+		for (int frame = 1; frame <= FRAMES; frame++) {
+			batch.step(FRAME_SECONDS);
+
+			final double time = frame * FRAME_SECONDS;
+
+			assertEquals("position at " + time, batch.getCurrentValue(handle), oscillator.getPosition(time),
+					TOLERANCE);
+			assertEquals("velocity at " + time, batch.getVelocity(handle), oscillator.getVelocity(time),
+					TOLERANCE);
+		}
+	}
+}
@@ -0,0 +1,72 @@
+package com.tumblr.backboard.physics;
+
+import com.facebook.rebound.SpringConfig;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Compares {@link FlingDecay} against the RK4 integration of a tension-free spring in
+ * {@link BaseSpringBatch}, and checks its inverse functions.
+ */
+public class FlingDecayTest {
+
+	private static final double FRAME_SECONDS = 0.016;
+	private static final int FRAMES = 120;
+	private static final double TOLERANCE = 1e-6;
+
+	@Test
+	public void matchesRk4() {
+		final double friction = 4.5;
+		final FlingDecay fling = new FlingDecay().set(20, -1500, friction);
+		final BaseSpringBatch batch = new BaseSpringBatch().setRestSpeedThreshold(0);
+		final int handle = batch.create(new SpringConfig(0, friction));
+
+		batch.setCurrentValue(handle, 20);
+		batch.setVelocity(handle, -1500);
+
+		for (int frame = 1; frame <= FRAMES; frame++) {
+			batch.step(FRAME_SECONDS);
+
+			final double time = frame * FRAME_SECONDS;
+
+			assertEquals("position at " + time, batch.getCurrentValue(handle), fling.getPosition(time), TOLERANCE);
+			assertEquals("velocity at " + time, batch.getVelocity(handle), fling.getVelocity(time), TOLERANCE);
+		}
+	}
+
+	@Test
+	public void restPositionIsTheLimit() {
+		final FlingDecay fling = new FlingDecay().set(100, 800, 2);
+
+		assertEquals(500, fling.getRestPosition(), 0);
+		assertEquals(500, fling.getPosition(60), TOLERANCE);
+	}
+
+	@Test
+	public void timeToPositionInvertsPosition() {
+		final FlingDecay fling = new FlingDecay().set(100, -800, 2);
+
+		for (double time = 0; time < 3; time += 0.25) {
+			assertEquals(time, fling.getTimeToPosition(fling.getPosition(time)), TOLERANCE);
+		}
+
+		assertEquals(Double.POSITIVE_INFINITY, fling.getTimeToPosition(-300), 0);
+		assertEquals(Double.POSITIVE_INFINITY, fling.getTimeToPosition(200), 0);
+	}
+
+	@Test
+	public void timeToSpeedInvertsVelocity() {
+		final FlingDecay fling = new FlingDecay().set(0, -800, 3);
+		final double time = fling.getTimeToSpeed(5);
+
+		assertEquals(-5, fling.getVelocity(time), TOLERANCE);
+		assertEquals(0, fling.getTimeToSpeed(1000), 0);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void rejectsNoFriction() {
+		new FlingDecay().set(0, 100, 0);
+	}
+}
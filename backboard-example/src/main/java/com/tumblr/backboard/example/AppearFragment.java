@@ -62,8 +62,8 @@ public class AppearFragment extends Fragment {
 							if (imitator instanceof MotionImitator) {
 								final MotionImitator motionImitator = (MotionImitator) imitator;
 								if (motionImitator.getProperty() == MotionProperty.Y) {
-									// TODO: disable the y-motion because it is about to be animated
-									// imitator.getSpring().deregister();
+									// disable the y-motion because it is about to be animated
+									motion.setEnabled(false);
 								} else {
 									imitator.release(null);
 								}
@@ -127,16 +127,12 @@ public class AppearFragment extends Fragment {
 						for (Actor.Motion motion : actors[i].getMotions()) {
 							for (EventImitator imitator : motion.getImitators()) {
 								if (imitator instanceof MotionImitator) {
-									final MotionImitator motionImitator = (MotionImitator) imitator;
 									imitator.getSpring().setCurrentValue(0);
-
-									// TODO: re-enable the y motion.
-//									if (imitator.getProperty() == MotionProperty.Y &&
-//											!imitator.getSpring().isRegistered()) {
-//										imitator.getSpring().register();
-//									}
 								}
 							}
+
+							// re-enable the y motion, now that its spring has been reset
+							motion.setEnabled(true);
 						}
 
 						springs[i].setEndValue(0); // appear
@@ -114,6 +114,13 @@ public class BackboardActivity extends Activity {
 					.commit();
 			setTitle(R.string.action_press);
 			return true;
+
+		case R.id.action_particles:
+			getFragmentManager().beginTransaction()
+					.replace(R.id.container, new ParticlesFragment())
+					.commit();
+			setTitle(R.string.action_particles);
+			return true;
 		}
 
 		return super.onOptionsItemSelected(item);
@@ -11,7 +11,8 @@ import android.widget.RelativeLayout;
 import com.facebook.rebound.Spring;
 import com.facebook.rebound.SpringSystem;
 import com.tumblr.backboard.imitator.ToggleImitator;
-import com.tumblr.backboard.performer.MapPerformer;
+import com.tumblr.backboard.performer.FanOutPerformer;
+import com.tumblr.backboard.physics.SpringCurveCache;
 
 /**
  * A ring of views that bloom and then contract.
@@ -73,23 +74,25 @@ public class BloomFragment extends Fragment {
 		// create spring
 		final Spring spring = springSystem.createSpring();
 
-		// add listeners along arc
+		// add targets along arc
 		double arc = 2 * Math.PI / mCircles.length;
 
+		final FanOutPerformer performer = new FanOutPerformer();
+
 		for (int i = 0; i < mCircles.length; i++) {
 			View view = mCircles[i];
 
 			// map spring to a line segment from the center to the edge of the ring
-			spring.addListener(new MapPerformer(view, View.TRANSLATION_X, 0, 1,
-					0, (float) (RING_DIAMETER * Math.cos(i * arc))));
-
-			spring.addListener(new MapPerformer(view, View.TRANSLATION_Y, 0, 1,
-					0, (float) (RING_DIAMETER * Math.sin(i * arc))));
-
-			spring.setEndValue(CLOSED);
+			performer.add(view, View.TRANSLATION_X, 0, (float) (RING_DIAMETER * Math.cos(i * arc)));
+			performer.add(view, View.TRANSLATION_Y, 0, (float) (RING_DIAMETER * Math.sin(i * arc)));
 		}
 
-		mRootView.setOnTouchListener(new ToggleImitator(spring, CLOSED, OPEN));
+		spring.addListener(performer);
+		spring.setEndValue(CLOSED);
+
+		// the toggle always moves between the same two values, so its curves can be cached
+		mRootView.setOnTouchListener(new ToggleImitator(spring, CLOSED, OPEN)
+				.setCurveCache(new SpringCurveCache()));
 
 		return mRootView;
 	}
@@ -2,7 +2,6 @@ package com.tumblr.backboard.example;
 
 import android.annotation.SuppressLint;
 import android.app.Fragment;
-import android.content.Context;
 import android.content.res.TypedArray;
 import android.graphics.drawable.Drawable;
 import android.os.Bundle;
@@ -13,21 +12,21 @@ import android.view.MotionEvent;
 import android.view.View;
 import android.view.ViewGroup;
 import android.widget.RelativeLayout;
-import com.facebook.rebound.Spring;
 import com.facebook.rebound.SpringConfig;
-import com.facebook.rebound.SpringListener;
-import com.facebook.rebound.SpringSystem;
-import com.tumblr.backboard.performer.Performer;
+import com.tumblr.backboard.physics.Emitter;
+import com.tumblr.backboard.physics.SpringBatch;
 
 /**
- * Demonstrates creating and removing {@link android.view.View}s and
- * {@link com.facebook.rebound.Spring}s.
+ * Demonstrates creating and removing {@link android.view.View}s and springs, using an
+ * {@link com.tumblr.backboard.physics.Emitter} to recycle them and a
+ * {@link com.tumblr.backboard.physics.SpringBatch} to step all of them at once.
  * <p/>
  * Created by ericleong on 5/7/14.
  */
 public class ExplosionFragment extends Fragment {
 
 	private static final int DIAMETER = 80;
+	private static final int MAX_RECYCLED_CIRCLES = 32;
 
 	private RelativeLayout mRootView;
 
@@ -38,68 +37,13 @@ public class ExplosionFragment extends Fragment {
 	private Runnable mRunnable;
 	private boolean mTouching;
 
-	private SpringSystem mSpringSystem;
+	private SpringBatch mSpringBatch;
+	private Emitter mEmitter;
+	private int mDiameter;
 
 	private SpringConfig mCoasting;
 	private SpringConfig mGravity;
 
-	/**
-	 * Destroys the attached {@link com.facebook.rebound.Spring}.
-	 */
-	private static class Destroyer implements SpringListener {
-
-		public int mMin, mMax;
-
-		protected ViewGroup mViewGroup;
-		protected View mViewToRemove;
-
-		private Destroyer(ViewGroup viewGroup, View viewToRemove, int min,
-		                  int max) {
-			mViewGroup = viewGroup;
-			mViewToRemove = viewToRemove;
-
-			mMin = min;
-			mMax = max;
-		}
-
-		public boolean shouldClean(Spring spring) {
-			// these are arbitrary values to keep the view from disappearing before it is
-			// fully off the screen
-			return spring.getCurrentValue() < mMin || spring.getCurrentValue() > mMax;
-		}
-
-		public void clean(Spring spring) {
-			if (mViewGroup != null && mViewToRemove != null) {
-				mViewGroup.removeView(mViewToRemove);
-			}
-			if (spring != null) {
-				spring.destroy();
-			}
-		}
-
-		@Override
-		public void onSpringUpdate(Spring spring) {
-			if (shouldClean(spring)) {
-				clean(spring);
-			}
-		}
-
-		@Override
-		public void onSpringAtRest(Spring spring) {
-
-		}
-
-		@Override
-		public void onSpringActivate(Spring spring) {
-
-		}
-
-		@Override
-		public void onSpringEndStateChange(Spring spring) {
-
-		}
-	}
-
 	private class CircleSpawn implements Runnable {
 
 		@Override
@@ -111,59 +55,35 @@ public class ExplosionFragment extends Fragment {
 					colorIndex = 0;
 				}
 
-				float diameter = TypedValue.applyDimension(TypedValue.COMPLEX_UNIT_DIP, DIAMETER,
-						getResources().getDisplayMetrics());
-
 				Drawable drawable = getResources().getDrawable(mCircles.getResourceId
 						(colorIndex, -1));
 
-				createCircle(getActivity(), mRootView, mSpringSystem, mCoasting, mGravity,
-						(int) diameter, drawable);
+				createCircle(mEmitter, mRootView, mCoasting, mGravity, mDiameter, drawable);
 
 				mHandler.postDelayed(this, 100);
 			}
 		}
 	}
 
-	private static void createCircle(Context context, ViewGroup rootView,
-	                                 SpringSystem springSystem,
+	private static void createCircle(Emitter emitter, ViewGroup rootView,
 	                                 SpringConfig coasting,
 	                                 SpringConfig gravity,
 	                                 int diameter,
 	                                 Drawable backgroundDrawable) {
 
-		final Spring xSpring = springSystem.createSpring().setSpringConfig(coasting);
-		final Spring ySpring = springSystem.createSpring().setSpringConfig(gravity);
-
-		// create view
-		View view = new View(context);
-
-		RelativeLayout.LayoutParams params = new RelativeLayout.LayoutParams(diameter, diameter);
-		params.addRule(RelativeLayout.CENTER_IN_PARENT);
-		view.setLayoutParams(params);
-		view.setBackgroundDrawable(backgroundDrawable);
-
-		rootView.addView(view);
+		// views leave the screen before they are recycled
+		int maxX = rootView.getMeasuredWidth() / 2 + diameter;
+		int maxY = rootView.getMeasuredHeight() / 2 + diameter;
+		emitter.setBounds(-maxX, maxX, -maxY, maxY);
 
 		// generate random direction and magnitude
 		double magnitude = Math.random() * 1000 + 3000;
 		double angle = Math.random() * Math.PI / 2 + Math.PI / 4;
 
-		xSpring.setVelocity(magnitude * Math.cos(angle));
-		ySpring.setVelocity(-magnitude * Math.sin(angle));
-
-		int maxX = rootView.getMeasuredWidth() / 2 + diameter;
-		xSpring.addListener(new Destroyer(rootView, view, -maxX, maxX));
-
-		int maxY = rootView.getMeasuredHeight() / 2 + diameter;
-		ySpring.addListener(new Destroyer(rootView, view, -maxY, maxY));
-
-		xSpring.addListener(new Performer(view, View.TRANSLATION_X));
-		ySpring.addListener(new Performer(view, View.TRANSLATION_Y));
-
 		// set a different end value to cause the animation to play
-		xSpring.setEndValue(2);
-		ySpring.setEndValue(9001);
+		View view = emitter.emit(coasting, gravity,
+				magnitude * Math.cos(angle), -magnitude * Math.sin(angle), 2, 9001);
+		view.setBackgroundDrawable(backgroundDrawable);
 	}
 
 	@Override
@@ -171,7 +91,7 @@ public class ExplosionFragment extends Fragment {
 		super.onCreate(savedInstanceState);
 
 		mHandler = new Handler();
-		mSpringSystem = SpringSystem.create();
+		mSpringBatch = new SpringBatch();
 
 		mCoasting = SpringConfig.fromOrigamiTensionAndFriction(0, 0);
 		mCoasting.tension = 0;
@@ -188,6 +108,22 @@ public class ExplosionFragment extends Fragment {
 		mRootView = (RelativeLayout) inflater.inflate(R.layout.fragment_bloom, container, false);
 
 		mCircles = getResources().obtainTypedArray(R.array.circles);
+
+		mDiameter = (int) TypedValue.applyDimension(TypedValue.COMPLEX_UNIT_DIP, DIAMETER,
+				getResources().getDisplayMetrics());
+
+		mEmitter = new Emitter(mSpringBatch, mRootView, new Emitter.ViewFactory() {
+			@Override
+			public View createView(ViewGroup parent) {
+				View view = new View(parent.getContext());
+
+				RelativeLayout.LayoutParams params = new RelativeLayout.LayoutParams(mDiameter, mDiameter);
+				params.addRule(RelativeLayout.CENTER_IN_PARENT);
+				view.setLayoutParams(params);
+
+				return view;
+			}
+		}, MAX_RECYCLED_CIRCLES);
 		mRunnable = new CircleSpawn();
 
 		mRootView.setOnTouchListener(new View.OnTouchListener() {
@@ -5,7 +5,6 @@ import android.content.res.TypedArray;
 import android.os.Bundle;
 import android.util.TypedValue;
 import android.view.LayoutInflater;
-import android.view.MotionEvent;
 import android.view.View;
 import android.view.ViewGroup;
 import android.widget.RelativeLayout;
@@ -14,10 +13,10 @@ import com.facebook.rebound.Spring;
 import com.facebook.rebound.SpringSystem;
 import com.tumblr.backboard.Actor;
 import com.tumblr.backboard.MotionProperty;
-import com.tumblr.backboard.imitator.Imitator;
-import com.tumblr.backboard.imitator.MotionImitator;
+import com.tumblr.backboard.imitator.NearestSnapImitator;
+import com.tumblr.backboard.imitator.SnapGrid;
 import com.tumblr.backboard.imitator.ToggleImitator;
-import com.tumblr.backboard.performer.MapPerformer;
+import com.tumblr.backboard.performer.FanOutPerformer;
 
 /**
  * A ring of views that bloom and then contract, with a selector that follows the finger.
@@ -36,61 +35,10 @@ public class FlowerFragment extends Fragment {
 	private static final int OPEN = 1;
 	private static final int CLOSED = 0;
 
-	private static double distSq(double x1, double y1, double x2, double y2) {
-		return Math.pow(x2 - x1, 2) + Math.pow(y2 - y1, 2);
-	}
-
-	private static View nearest(float x, float y, View[] views) {
-		double minDistSq = Double.MAX_VALUE;
-		View minView = null;
-
-		for (View view : views) {
-			double distSq = distSq(x, y, view.getX() + view.getMeasuredWidth() / 2,
-					view.getY() + view.getMeasuredHeight() / 2);
-
-			if (distSq < Math.pow(1.5f * view.getMeasuredWidth(), 2) && distSq < minDistSq) {
-				minDistSq = distSq;
-				minView = view;
-			}
-		}
-
-		return minView;
-	}
-
 	/**
-	 * Snaps to the nearest circle.
+	 * How close the finger must be to a circle to snap to it, in circle diameters.
 	 */
-	private class SnapImitator extends MotionImitator {
-
-		public SnapImitator(MotionProperty property) {
-			super(property, 0, Imitator.TRACK_ABSOLUTE, Imitator.FOLLOW_SPRING);
-		}
-
-		@Override
-		public void mime(float offset, float value, float delta, float dt, MotionEvent event) {
-			// find the nearest view
-			final View nearest = nearest(
-					event.getX() + mCircle.getX(),
-					event.getY() + mCircle.getY(), mCircles);
-
-			if (nearest != null) {
-				// snap to it - remember to compensate for translation
-				switch (mProperty) {
-				case X:
-					getSpring().setEndValue(nearest.getX() + nearest.getWidth() / 2
-							- mCircle.getLeft() - mCircle.getWidth() / 2);
-					break;
-				case Y:
-					getSpring().setEndValue(nearest.getY() + nearest.getHeight() / 2
-							- mCircle.getTop() - mCircle.getHeight() / 2);
-					break;
-				}
-			} else {
-				// follow finger
-				super.mime(offset, value, delta, dt, event);
-			}
-		}
-	}
+	private static final float SNAP_RADIUS = 1.5f;
 
 	@Override
 	public View onCreateView(LayoutInflater inflater, ViewGroup container,
@@ -138,28 +86,39 @@ public class FlowerFragment extends Fragment {
 		// create spring
 		final Spring spring = springSystem.createSpring();
 
-		// add listeners along arc
+		// add targets along arc
 		final double arc = 2 * Math.PI / mCircles.length;
 
+		final FanOutPerformer performer = new FanOutPerformer();
+
+		// the open positions of the circles, which are centered like the selector
+		final float[] snapX = new float[mCircles.length];
+		final float[] snapY = new float[mCircles.length];
+
 		for (int i = 0; i < mCircles.length; i++) {
 			View view = mCircles[i];
 
+			snapX[i] = (float) (RING_DIAMETER * Math.cos(i * arc));
+			snapY[i] = (float) (RING_DIAMETER * Math.sin(i * arc));
+
 			// map spring to a line segment from the center to the edge of the ring
-			spring.addListener(new MapPerformer(view, View.TRANSLATION_X, 0, 1,
-					0, (float) (RING_DIAMETER * Math.cos(i * arc))));
+			performer.add(view, View.TRANSLATION_X, 0, snapX[i]);
+			performer.add(view, View.TRANSLATION_Y, 0, snapY[i]);
+		}
 
-			spring.addListener(new MapPerformer(view, View.TRANSLATION_Y, 0, 1,
-					0, (float) (RING_DIAMETER * Math.sin(i * arc))));
+		final float snapRadius = SNAP_RADIUS * diameter;
+		final SnapGrid snapGrid = new SnapGrid(snapRadius);
+		snapGrid.set(snapX, snapY, mCircles.length);
 
-			spring.setEndValue(CLOSED);
-		}
+		spring.addListener(performer);
+		spring.setEndValue(CLOSED);
 
 		final ToggleImitator imitator = new ToggleImitator(spring, CLOSED, OPEN);
 
 		// move circle using finger, snap when near another circle, and bloom when touched
 		new Actor.Builder(SpringSystem.create(), mCircle)
-				.addMotion(new SnapImitator(MotionProperty.X), View.TRANSLATION_X)
-				.addMotion(new SnapImitator(MotionProperty.Y), View.TRANSLATION_Y)
+				.addMotion(new NearestSnapImitator(MotionProperty.X, snapGrid, snapRadius), View.TRANSLATION_X)
+				.addMotion(new NearestSnapImitator(MotionProperty.Y, snapGrid, snapRadius), View.TRANSLATION_Y)
 				.onTouchListener(imitator)
 				.build();
 
@@ -12,8 +12,8 @@ import com.facebook.rebound.Spring;
 import com.facebook.rebound.SpringSystem;
 import com.tumblr.backboard.Actor;
 import com.tumblr.backboard.MotionProperty;
-import com.tumblr.backboard.imitator.SpringImitator;
 import com.tumblr.backboard.performer.Performer;
+import com.tumblr.backboard.physics.FollowChain;
 
 /**
  * Demonstrates a draggable view that bounces back when released.
@@ -82,32 +82,19 @@ public class FollowFragment extends Fragment {
 		new Actor.Builder(springSystem, mCircle).addMotion(springX, MotionProperty.X)
 				.addMotion(springY, MotionProperty.Y).build();
 
-		// add springs to connect between the views
-		final Spring[] followsX = new Spring[mFollowers.length];
-		final Spring[] followsY = new Spring[mFollowers.length];
+		// connect the views, each following the one before it
+		final FollowChain followsX = new FollowChain(mFollowers.length);
+		final FollowChain followsY = new FollowChain(mFollowers.length);
 
 		for (int i = 0; i < mFollowers.length; i++) {
-
-			// create spring to bind views
-			followsX[i] = springSystem.createSpring();
-			followsY[i] = springSystem.createSpring();
-			followsX[i].addListener(new Performer(mFollowers[i], View.TRANSLATION_X));
-			followsY[i].addListener(new Performer(mFollowers[i], View.TRANSLATION_Y));
-
-			// imitates another character
-			final SpringImitator followX = new SpringImitator(followsX[i]);
-			final SpringImitator followY = new SpringImitator(followsY[i]);
-
-			//  imitate the previous character
-			if (i == 0) {
-				springX.addListener(followX);
-				springY.addListener(followY);
-			} else {
-				followsX[i - 1].addListener(followX);
-				followsY[i - 1].addListener(followY);
-			}
+			followsX.setPerformer(i, new Performer(mFollowers[i], View.TRANSLATION_X));
+			followsY.setPerformer(i, new Performer(mFollowers[i], View.TRANSLATION_Y));
 		}
 
+		// imitate the leader
+		springX.addListener(followsX);
+		springY.addListener(followsY);
+
 		return mRootView;
 	}
 }
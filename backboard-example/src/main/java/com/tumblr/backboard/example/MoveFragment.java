@@ -11,7 +11,8 @@ import com.tumblr.backboard.MotionProperty;
 import com.tumblr.backboard.imitator.Imitator;
 
 /**
- * Demonstrates a draggable view that bounces back when released.
+ * Demonstrates a draggable view that bounces back when released. The bounce is handed off to the
+ * view's animator, so it keeps running even if the main thread is busy.
  * <p/>
  * Created by ericleong on 5/7/14.
  */
@@ -26,6 +27,7 @@ public class MoveFragment extends Fragment {
 		new Actor.Builder(SpringSystem.create(), rootView.findViewById(R.id.circle))
 				.addTranslateMotion(Imitator.TRACK_DELTA, Imitator.FOLLOW_EXACT, MotionProperty.X)
 				.addTranslateMotion(Imitator.TRACK_DELTA, Imitator.FOLLOW_EXACT, MotionProperty.Y)
+				.handOffRelease()
 				.build();
 
 		return rootView;
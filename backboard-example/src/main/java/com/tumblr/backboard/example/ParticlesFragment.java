@@ -0,0 +1,120 @@
+package com.tumblr.backboard.example;
+
+import android.annotation.SuppressLint;
+import android.app.Fragment;
+import android.content.res.TypedArray;
+import android.graphics.drawable.Drawable;
+import android.os.Bundle;
+import android.os.Handler;
+import android.util.TypedValue;
+import android.view.LayoutInflater;
+import android.view.MotionEvent;
+import android.view.View;
+import android.view.ViewGroup;
+import com.facebook.rebound.SpringConfig;
+import com.tumblr.backboard.physics.ParticleView;
+
+/**
+ * Demonstrates drawing many spring-driven particles in a single
+ * {@link com.tumblr.backboard.physics.ParticleView}, instead of one view each as in
+ * {@link ExplosionFragment}.
+ */
+public class ParticlesFragment extends Fragment {
+
+	private static final int DIAMETER = 16;
+	private static final int PARTICLES_PER_FRAME = 8;
+	private static final int FRAME_DELAY = 16;
+
+	private ParticleView mParticleView;
+
+	private int colorIndex;
+	private Drawable[] mCircles;
+
+	private Handler mHandler;
+	private Runnable mRunnable;
+	private boolean mTouching;
+
+	private SpringConfig mCoasting;
+	private SpringConfig mGravity;
+
+	private class ParticleSpawn implements Runnable {
+
+		@Override
+		public void run() {
+			if (mTouching) {
+				for (int i = 0; i < PARTICLES_PER_FRAME; i++) {
+					colorIndex++;
+					if (colorIndex >= mCircles.length) {
+						colorIndex = 0;
+					}
+
+					// generate random direction and magnitude
+					double magnitude = Math.random() * 1000 + 3000;
+					double angle = Math.random() * Math.PI / 2 + Math.PI / 4;
+
+					// set a different end value to cause the animation to play
+					mParticleView.emit(mCircles[colorIndex], mCoasting, mGravity,
+							magnitude * Math.cos(angle), -magnitude * Math.sin(angle), 2, 9001);
+				}
+
+				mHandler.postDelayed(this, FRAME_DELAY);
+			}
+		}
+	}
+
+	@Override
+	public void onCreate(Bundle savedInstanceState) {
+		super.onCreate(savedInstanceState);
+
+		mHandler = new Handler();
+
+		mCoasting = SpringConfig.fromOrigamiTensionAndFriction(0, 0);
+		mCoasting.tension = 0;
+
+		// same as ExplosionFragment, the end value is set to 9001 to simulate constant acceleration.
+		mGravity = SpringConfig.fromOrigamiTensionAndFriction(0, 0);
+		mGravity.tension = 1;
+	}
+
+	@Override
+	public View onCreateView(LayoutInflater inflater, ViewGroup container,
+	                         Bundle savedInstanceState) {
+		mParticleView = new ParticleView(getActivity());
+		mParticleView.setParticleSize((int) TypedValue.applyDimension(TypedValue.COMPLEX_UNIT_DIP,
+				DIAMETER, getResources().getDisplayMetrics()));
+
+		// every particle of the same color shares a drawable
+		TypedArray circles = getResources().obtainTypedArray(R.array.circles);
+		mCircles = new Drawable[circles.length()];
+		for (int i = 0; i < mCircles.length; i++) {
+			mCircles[i] = getResources().getDrawable(circles.getResourceId(i, -1));
+		}
+		circles.recycle();
+
+		mRunnable = new ParticleSpawn();
+
+		mParticleView.setOnTouchListener(new View.OnTouchListener() {
+			@Override
+			@SuppressLint("ClickableViewAccessibility")
+			public boolean onTouch(View v, MotionEvent event) {
+				switch (event.getAction()) {
+				case MotionEvent.ACTION_DOWN:
+
+					// create particles as long as the user is holding down
+					mTouching = true;
+					mHandler.post(mRunnable);
+
+					break;
+				case MotionEvent.ACTION_UP:
+					mTouching = false;
+
+					break;
+				}
+
+				return true;
+			}
+		});
+
+		return mParticleView;
+	}
+}
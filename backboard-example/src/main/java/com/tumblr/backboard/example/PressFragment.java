@@ -2,6 +2,7 @@ package com.tumblr.backboard.example;
 
 import android.app.Fragment;
 import android.os.Bundle;
+import android.util.Log;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
@@ -9,14 +10,67 @@ import android.view.ViewGroup;
 import com.facebook.rebound.SpringSystem;
 import com.tumblr.backboard.Actor;
 import com.tumblr.backboard.imitator.ToggleImitator;
+import com.tumblr.backboard.physics.SpringCurveCache;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
 
 /**
- * Demonstrates a view that shrinks when touched and bounces back when released.
+ * Demonstrates a view that shrinks when touched and bounces back when released. The spring curves are
+ * cached, and saved to app storage so that later launches do not compute them again.
  * <p/>
  * Created by ericleong on 11/28/15.
  */
 public class PressFragment extends Fragment {
 
+	private static final String TAG = PressFragment.class.getSimpleName();
+	private static final String CURVE_CACHE_FILE = "spring_curves";
+
+	private SpringCurveCache mCurveCache;
+
+	@Override
+	public void onCreate(Bundle savedInstanceState) {
+		super.onCreate(savedInstanceState);
+
+		mCurveCache = new SpringCurveCache();
+
+		final File file = new File(getActivity().getFilesDir(), CURVE_CACHE_FILE);
+
+		if (file.exists()) {
+			try {
+				final FileInputStream inputStream = new FileInputStream(file);
+
+				try {
+					mCurveCache.load(inputStream);
+				} finally {
+					inputStream.close();
+				}
+			} catch (IOException e) {
+				Log.w(TAG, "could not load spring curves", e);
+			}
+		}
+	}
+
+	@Override
+	public void onPause() {
+		super.onPause();
+
+		try {
+			final FileOutputStream outputStream =
+					new FileOutputStream(new File(getActivity().getFilesDir(), CURVE_CACHE_FILE));
+
+			try {
+				mCurveCache.save(outputStream);
+			} finally {
+				outputStream.close();
+			}
+		} catch (IOException e) {
+			Log.w(TAG, "could not save spring curves", e);
+		}
+	}
+
 	@Override
 	public View onCreateView(LayoutInflater inflater, ViewGroup container,
 	                         Bundle savedInstanceState) {
@@ -24,7 +78,7 @@ public class PressFragment extends Fragment {
 		final View rootView = inflater.inflate(R.layout.fragment_press, container, false);
 
 		new Actor.Builder(SpringSystem.create(), rootView.findViewById(R.id.circle))
-				.addMotion(new ToggleImitator(null, 1.0, 0.5), View.SCALE_X, View.SCALE_Y)
+				.addMotion(new ToggleImitator(null, 1.0, 0.5).setCurveCache(mCurveCache), View.SCALE_X, View.SCALE_Y)
 				.build();
 
 		return rootView;
@@ -1,18 +1,19 @@
 package com.tumblr.backboard.example;
 
 import android.app.Fragment;
+import android.os.Build;
 import android.os.Bundle;
 import android.view.LayoutInflater;
-import android.view.MotionEvent;
 import android.view.View;
 import android.view.ViewGroup;
+import android.view.ViewTreeObserver;
 import com.facebook.rebound.SpringSystem;
 import com.tumblr.backboard.Actor;
 import com.tumblr.backboard.MotionProperty;
-import com.tumblr.backboard.imitator.MotionImitator;
+import com.tumblr.backboard.imitator.SnapImitator;
 
 /**
- * Snap a view to either the lower left or lower right corner.
+ * Snap a view to either the lower left or lower right corner, depending on where it would coast to.
  * <p/>
  * Created by ericleong on 5/7/14.
  */
@@ -26,30 +27,26 @@ public class SnapFragment extends Fragment {
 
 		final View circle = rootView.findViewById(R.id.circle);
 
+		final SnapImitator snapImitator = new SnapImitator(MotionProperty.X, 0);
+
 		new Actor.Builder(SpringSystem.create(), circle)
 				.addTranslateMotion(MotionProperty.Y)
-				.addMotion(
-						new MotionImitator(MotionProperty.X) {
-							@Override
-							public void release(MotionEvent event) {
-
-								// snap to left or right depending on current location
-								if (mSpring.getCurrentValue() >
-										rootView.getMeasuredWidth() / 2 -
-												circle.getMeasuredWidth() / 2) {
-
-									mSpring.setEndValue(rootView.getMeasuredWidth() -
-											circle.getMeasuredWidth());
-								} else {
-
-									mSpring.setEndValue(0);
-								}
-							}
-						},
-						View.TRANSLATION_X
-				)
+				.addMotion(snapImitator, View.TRANSLATION_X)
 				.build();
 
+		rootView.getViewTreeObserver().addOnGlobalLayoutListener(new ViewTreeObserver.OnGlobalLayoutListener() {
+			@Override
+			public void onGlobalLayout() {
+				// snap to left or right
+				snapImitator.setSnapPoints(0, rootView.getMeasuredWidth() - circle.getMeasuredWidth());
+				if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN) {
+					rootView.getViewTreeObserver().removeOnGlobalLayoutListener(this);
+				} else {
+					rootView.getViewTreeObserver().removeGlobalOnLayoutListener(this);
+				}
+			}
+		});
+
 		return rootView;
 	}
 }
@@ -9,6 +9,7 @@ import android.view.ViewConfiguration;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 
+import com.facebook.rebound.ChoreographerCompat;
 import com.facebook.rebound.Spring;
 import com.facebook.rebound.SpringListener;
 import com.facebook.rebound.SpringSystem;
@@ -16,6 +17,7 @@ import com.tumblr.backboard.imitator.EventImitator;
 import com.tumblr.backboard.imitator.Imitator;
 import com.tumblr.backboard.imitator.MotionImitator;
 import com.tumblr.backboard.performer.Performer;
+import com.tumblr.backboard.trace.TouchTraceRecorder;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -37,6 +39,11 @@ public final class Actor {
 	 */
 	public static final int MAX_CLICK_DISTANCE = 10;
 
+	/**
+	 * {@link #MAX_CLICK_DISTANCE} squared, to avoid a square root when comparing distances.
+	 */
+	private static final int MAX_CLICK_DISTANCE_SQ = MAX_CLICK_DISTANCE * MAX_CLICK_DISTANCE;
+
 	/**
 	 * Contains the imitators and listeners coupled to a single spring.
 	 */
@@ -49,6 +56,17 @@ public final class Actor {
 		private final Performer[] performers;
 		@Nullable
 		private final SpringListener[] springListeners;
+		/**
+		 * The only listener this motion registers on the spring, once, when the actor is built. It
+		 * forwards to the performers and spring listeners, so they are attached and detached
+		 * together by a flag.
+		 */
+		@NonNull
+		private final MotionSpringListener springListener;
+		/**
+		 * Whether or not the imitators receive touch events.
+		 */
+		private boolean inputEnabled = true;
 
 		private Motion(@NonNull final Spring spring, @NonNull final EventImitator imitator, @NonNull final Performer[] performers,
 		               @Nullable final SpringListener[] springListeners) {
@@ -61,6 +79,7 @@ public final class Actor {
 			this.performers = performers;
 			this.spring = spring;
 			this.springListeners = springListeners;
+			this.springListener = new MotionSpringListener(performers, springListeners);
 		}
 
 		private Motion(@NonNull final Spring spring, @NonNull final EventImitator[] imitators, @NonNull final Performer[] performers,
@@ -69,6 +88,7 @@ public final class Actor {
 			this.performers = performers;
 			this.spring = spring;
 			this.springListeners = springListeners;
+			this.springListener = new MotionSpringListener(performers, springListeners);
 		}
 
 		@NonNull
@@ -80,16 +100,259 @@ public final class Actor {
 		public EventImitator[] getImitators() {
 			return imitators;
 		}
+
+		@NonNull
+		public Performer[] getPerformers() {
+			return performers;
+		}
+
+		@Nullable
+		public SpringListener[] getSpringListeners() {
+			return springListeners;
+		}
+
+		/**
+		 * @return whether or not the actor has attached the spring listeners of this motion.
+		 */
+		boolean isAttached() {
+			return springListener.mAttached;
+		}
+
+		/**
+		 * @return whether or not the motion forwards spring events to anything but its performers.
+		 */
+		boolean hasSpringListeners() {
+			return springListener.mListeners.length > performers.length;
+		}
+
+		public boolean isInputEnabled() {
+			return inputEnabled;
+		}
+
+		/**
+		 * @param enabled
+		 * 		whether or not the imitators of this motion receive touch events from the {@link Actor}.
+		 */
+		public void setInputEnabled(final boolean enabled) {
+			inputEnabled = enabled;
+		}
+
+		public boolean isOutputEnabled() {
+			return springListener.mOutputEnabled;
+		}
+
+		/**
+		 * The performers and spring listeners of this motion receive spring events only while both
+		 * this and the actor's listeners are enabled, so enabling output does not undo
+		 * {@link Actor#removeAllListeners()} or {@link Builder#dontAttachSpringListeners()}.
+		 *
+		 * @param enabled
+		 * 		whether or not the performers and spring listeners of this motion receive spring events.
+		 * 		The spring's listener set is not modified.
+		 */
+		public void setOutputEnabled(final boolean enabled) {
+			springListener.mOutputEnabled = enabled;
+		}
+
+		public boolean isPhysicsEnabled() {
+			return springListener.mPhysicsEnabled;
+		}
+
+		/**
+		 * When disabled, the spring is held at rest at its current value: velocities are discarded
+		 * instead of being integrated, although {@link Spring#setCurrentValue(double)} still takes
+		 * effect. The latest end value is kept, and the spring heads for it once enabled again. This
+		 * is useful when another animation takes over the same view property.
+		 *
+		 * @param enabled
+		 * 		whether or not the spring of this motion is integrated.
+		 */
+		public void setPhysicsEnabled(final boolean enabled) {
+			final MotionSpringListener listener = springListener;
+
+			if (listener.mPhysicsEnabled == enabled) {
+				return;
+			}
+
+			listener.mPhysicsEnabled = enabled;
+
+			if (enabled) {
+				spring.setEndValue(listener.mHeldEndValue);
+			} else {
+				listener.mHeldEndValue = spring.getEndValue();
+				spring.setAtRest();
+			}
+		}
+
+		/**
+		 * Sets the input, output and physics of this motion at once.
+		 *
+		 * @param enabled
+		 * 		whether or not this motion is enabled.
+		 * @see #setInputEnabled(boolean)
+		 * @see #setOutputEnabled(boolean)
+		 * @see #setPhysicsEnabled(boolean)
+		 */
+		public void setEnabled(final boolean enabled) {
+			setInputEnabled(enabled);
+			setOutputEnabled(enabled);
+			setPhysicsEnabled(enabled);
+		}
+	}
+
+	/**
+	 * Forwards spring events to the performers and spring listeners of a {@link Motion} while
+	 * enabled, and holds the spring at rest while the motion's physics are disabled. It stays
+	 * registered on the spring until {@link #destroy()}, so that every switch, including
+	 * {@link #addAllListeners()} and {@link #removeAllListeners()}, only flips a flag instead of
+	 * copying the spring's copy-on-write listener set.
+	 */
+	private static final class MotionSpringListener implements SpringListener {
+		/**
+		 * The performers followed by the spring listeners, in registration order.
+		 */
+		@NonNull
+		private final SpringListener[] mListeners;
+		/**
+		 * The listener switch of the actor, see {@link #addAllListeners()}.
+		 */
+		private boolean mAttached;
+		/**
+		 * The output switch of the motion, independent of the actor's.
+		 */
+		private boolean mOutputEnabled = true;
+		/**
+		 * The physics switch of the motion.
+		 */
+		private boolean mPhysicsEnabled = true;
+		/**
+		 * The end value to restore when physics are enabled again, since holding the spring at rest
+		 * moves its end value to its position.
+		 */
+		private double mHeldEndValue;
+		/**
+		 * Told about changes to the spring while it hands the motion off, if the actor hands off
+		 * released motions.
+		 */
+		@Nullable
+		private ReleaseHandoff mReleaseHandoff;
+
+		private MotionSpringListener(@NonNull final Performer[] performers,
+		                             @Nullable final SpringListener[] springListeners) {
+			int count = performers.length;
+
+			if (springListeners != null) {
+				for (SpringListener listener : springListeners) {
+					if (listener != null) {
+						count++;
+					}
+				}
+			}
+
+			mListeners = new SpringListener[count];
+			System.arraycopy(performers, 0, mListeners, 0, performers.length);
+
+			if (springListeners != null) {
+				int index = performers.length;
+
+				for (SpringListener listener : springListeners) {
+					if (listener != null) {
+						mListeners[index++] = listener;
+					}
+				}
+			}
+		}
+
+		@Override
+		public void onSpringUpdate(@NonNull final Spring spring) {
+			if (!mPhysicsEnabled) {
+				spring.setAtRest();
+			}
+
+			if (mAttached && mOutputEnabled) {
+				final SpringListener[] listeners = mListeners;
+
+				for (int i = 0; i < listeners.length; i++) {
+					listeners[i].onSpringUpdate(spring);
+				}
+			}
+		}
+
+		@Override
+		public void onSpringAtRest(@NonNull final Spring spring) {
+			if (mAttached && mOutputEnabled) {
+				final SpringListener[] listeners = mListeners;
+
+				for (int i = 0; i < listeners.length; i++) {
+					listeners[i].onSpringAtRest(spring);
+				}
+			}
+		}
+
+		@Override
+		public void onSpringActivate(@NonNull final Spring spring) {
+			if (mReleaseHandoff != null) {
+				mReleaseHandoff.interrupt(spring.getEndValue());
+			}
+
+			if (mAttached && mOutputEnabled) {
+				final SpringListener[] listeners = mListeners;
+
+				for (int i = 0; i < listeners.length; i++) {
+					listeners[i].onSpringActivate(spring);
+				}
+			}
+		}
+
+		@Override
+		public void onSpringEndStateChange(@NonNull final Spring spring) {
+			if (mReleaseHandoff != null) {
+				mReleaseHandoff.interrupt(spring.getEndValue());
+			}
+
+			if (!mPhysicsEnabled) {
+				mHeldEndValue = spring.getEndValue();
+				spring.setAtRest();
+			}
+
+			if (mAttached && mOutputEnabled) {
+				final SpringListener[] listeners = mListeners;
+
+				for (int i = 0; i < listeners.length; i++) {
+					listeners[i].onSpringEndStateChange(spring);
+				}
+			}
+		}
 	}
 
 	@NonNull
 	private final View mView;
 	@NonNull
 	private final List<Motion> mMotions;
+	/**
+	 * The imitators of every {@link Motion}, flattened in order so that touch dispatch is a single
+	 * indexed loop.
+	 */
+	@NonNull
+	private final EventImitator[] mImitators;
+	/**
+	 * The motion that owns each entry of {@link #mImitators}, for input gating.
+	 */
+	@NonNull
+	private final Motion[] mImitatorMotions;
 	@NonNull
 	private final MotionListener mMotionListener;
+	/**
+	 * Filled once per event and shared by every imitator.
+	 */
+	@NonNull
+	private final TouchSample mTouchSample = new TouchSample();
 	@Nullable
 	private final View.OnTouchListener mOnTouchListener;
+	/**
+	 * Whether or not {@link #mOnTouchListener} is set.
+	 */
+	private final boolean mHasOnTouchListener;
 	/**
 	 * Allows the user to disable the motion listener.
 	 */
@@ -97,23 +360,85 @@ public final class Actor {
 	/**
 	 * Prevent parent from intercepting touch events (useful when in lists).
 	 */
-	private boolean mRequestDisallowTouchEvent;
+	private final boolean mRequestDisallowTouchEvent;
+	/**
+	 * Cached {@link View#isClickable()}, refreshed at the start of each gesture.
+	 */
+	private boolean mClickable;
+	/**
+	 * Deliver {@link MotionEvent#ACTION_MOVE}s to the imitators at most once per frame.
+	 */
+	private final boolean mCoalesceMoveEvents;
+	/**
+	 * The {@link MotionEvent#ACTION_MOVE}s received since the last frame, merged into one sample.
+	 * It keeps no event, since the events are recycled before the frame.
+	 */
+	@Nullable
+	private final TouchSample mPendingSample;
+	/**
+	 * Whether or not {@link #mPendingSample} holds moves that have not been delivered.
+	 */
+	private boolean mMovePending;
+	/**
+	 * Delivers the pending sample on the next frame.
+	 */
+	@Nullable
+	private final ChoreographerCompat.FrameCallback mFrameCallback;
+	/**
+	 * Hands released motions to view animators, one per entry of {@link #mMotions}, if enabled.
+	 */
+	@Nullable
+	private final ReleaseHandoff[] mReleaseHandoffs;
+	/**
+	 * Records every event received by the motion listener, if set.
+	 */
+	@Nullable
+	private TouchTraceRecorder mTouchTraceRecorder;
 
-	private Actor(@NonNull final View view, @NonNull final List<Motion> motions,
-	              @Nullable final View.OnTouchListener onTouchListener,
-	              final boolean motionListenerEnabled, final boolean attachTouchListener,
-	              final boolean requestDisallowTouchEvent) {
-		mView = view;
+	private Actor(@NonNull final Builder builder, @NonNull final List<Motion> motions,
+	              @NonNull final EventImitator[] imitators, @NonNull final Motion[] imitatorMotions) {
+		mView = builder.mView;
 		mMotions = motions;
-		mOnTouchListener = onTouchListener;
+		mImitators = imitators;
+		mImitatorMotions = imitatorMotions;
+		mOnTouchListener = builder.mOnTouchListener;
+		mHasOnTouchListener = mOnTouchListener != null;
+		mClickable = mView.isClickable();
 
 		mMotionListener = new MotionListener();
-		mMotionListenerEnabled = motionListenerEnabled;
+		mMotionListenerEnabled = builder.mMotionListenerEnabled;
+
+		mRequestDisallowTouchEvent = builder.mRequestDisallowTouchEvent;
+
+		mCoalesceMoveEvents = builder.mCoalesceMoveEvents;
+
+		if (mCoalesceMoveEvents) {
+			mPendingSample = new TouchSample();
+			mFrameCallback = new ChoreographerCompat.FrameCallback() {
+				@Override
+				public void doFrame(final long frameTimeNanos) {
+					dispatchPendingMove();
+				}
+			};
+		} else {
+			mPendingSample = null;
+			mFrameCallback = null;
+		}
 
-		mRequestDisallowTouchEvent = requestDisallowTouchEvent;
+		if (builder.mHandOffRelease) {
+			mReleaseHandoffs = new ReleaseHandoff[motions.size()];
+
+			for (int i = 0; i < mReleaseHandoffs.length; i++) {
+				final Motion motion = motions.get(i);
+				mReleaseHandoffs[i] = new ReleaseHandoff(motion);
+				motion.springListener.mReleaseHandoff = mReleaseHandoffs[i];
+			}
+		} else {
+			mReleaseHandoffs = null;
+		}
 
-		if (attachTouchListener) {
-			view.setOnTouchListener(mMotionListener);
+		if (builder.mAttachMotionListener) {
+			mView.setOnTouchListener(mMotionListener);
 		}
 	}
 
@@ -146,36 +471,116 @@ public final class Actor {
 	}
 
 	/**
-	 * Removes all spring listeners controlled by this {@link Actor}.
+	 * @return whether or not moves are delivered on the next frame, see
+	 * {@link Builder#coalesceMoveEvents()}.
 	 */
-	public void removeAllListeners() {
-		for (Motion motion : mMotions) {
-			for (Performer performer : motion.performers) {
-				motion.spring.removeListener(performer);
-			}
+	public boolean isCoalescingMoveEvents() {
+		return mCoalesceMoveEvents;
+	}
 
-			if (motion.springListeners != null) {
-				for (SpringListener listener : motion.springListeners) {
-					motion.spring.removeListener(listener);
+	/**
+	 * @return whether or not released motions are handed to view animators, see
+	 * {@link Builder#handOffRelease()}.
+	 */
+	public boolean isHandingOffRelease() {
+		return mReleaseHandoffs != null;
+	}
+
+	@Nullable
+	public TouchTraceRecorder getTouchTraceRecorder() {
+		return mTouchTraceRecorder;
+	}
+
+	/**
+	 * Records the events received by the motion listener, before they are dispatched.
+	 *
+	 * @param recorder
+	 * 		the recorder, or <code>null</code> to stop recording. It is not closed.
+	 */
+	public void setTouchTraceRecorder(@Nullable final TouchTraceRecorder recorder) {
+		mTouchTraceRecorder = recorder;
+	}
+
+	/**
+	 * Adds an {@link MotionEvent#ACTION_MOVE} to the pending sample and schedules its delivery on
+	 * the next frame. Only the pointer is copied; the view is read when the sample is delivered.
+	 *
+	 * @param event
+	 * 		the move event
+	 * @return the pending sample
+	 */
+	@NonNull
+	private TouchSample queueMove(@NonNull final MotionEvent event) {
+		if (mMovePending) {
+			mPendingSample.append(null, event);
+		} else {
+			mPendingSample.set(null, event);
+			mMovePending = true;
+
+			ChoreographerCompat.getInstance().postFrameCallback(mFrameCallback);
+		}
+
+		mPendingSample.clearEvent();
+
+		return mPendingSample;
+	}
+
+	/**
+	 * Delivers the pending {@link MotionEvent#ACTION_MOVE}s, if any, to the imitators, with the
+	 * current layout of the view.
+	 */
+	private void dispatchPendingMove() {
+		if (mMovePending) {
+			mMovePending = false;
+			mPendingSample.setTarget(mView);
+
+			if (mMotionListenerEnabled) {
+				final EventImitator[] imitators = mImitators;
+				final Motion[] imitatorMotions = mImitatorMotions;
+
+				for (int i = 0; i < imitators.length; i++) {
+					if (imitatorMotions[i].inputEnabled) {
+						imitators[i].imitate(mView, mPendingSample);
+					}
 				}
 			}
 		}
 	}
 
+	/**
+	 * Stops all spring listeners controlled by this {@link Actor} from receiving spring events. The
+	 * listener sets of the springs are not modified.
+	 */
+	public void removeAllListeners() {
+		for (int i = 0; i < mMotions.size(); i++) {
+			mMotions.get(i).springListener.mAttached = false;
+		}
+	}
+
 	/**
 	 * Adds all spring listeners back.
 	 */
 	public void addAllListeners() {
-		for (Motion motion : mMotions) {
-			for (Performer performer : motion.performers) {
-				motion.spring.addListener(performer);
-			}
+		for (int i = 0; i < mMotions.size(); i++) {
+			mMotions.get(i).springListener.mAttached = true;
+		}
+	}
 
-			if (motion.springListeners != null) {
-				for (SpringListener listener : motion.springListeners) {
-					motion.spring.addListener(listener);
-				}
-			}
+	/**
+	 * Unregisters this {@link Actor} from its springs, so that they no longer keep its listeners and
+	 * view reachable, and drops any pending move. Call it when the actor is discarded but its springs
+	 * are not; the actor should not be used afterwards.
+	 */
+	public void destroy() {
+		for (int i = 0; i < mMotions.size(); i++) {
+			final Motion motion = mMotions.get(i);
+			motion.springListener.mAttached = false;
+			motion.spring.removeListener(motion.springListener);
+		}
+
+		if (mCoalesceMoveEvents) {
+			ChoreographerCompat.getInstance().removeFrameCallback(mFrameCallback);
+			mMovePending = false;
 		}
 	}
 
@@ -196,6 +601,8 @@ public final class Actor {
 		private boolean mAttachMotionListener = true;
 		private boolean mRequestDisallowTouchEvent;
 		private boolean mAttachSpringListeners = true;
+		private boolean mCoalesceMoveEvents;
+		private boolean mHandOffRelease;
 
 		/**
 		 * Animates the given view with the default {@link com.facebook.rebound.SpringConfig} and
@@ -529,6 +936,45 @@ public final class Actor {
 			return this;
 		}
 
+		/**
+		 * A flag to tell the {@link Actor} to deliver {@link MotionEvent#ACTION_MOVE}s to the
+		 * imitators at most once per frame. Moves that arrive within the same frame are merged, and
+		 * their positions are kept as history. Other actions are still delivered immediately (after
+		 * any pending moves), and the {@link android.view.View.OnTouchListener} passed to
+		 * {@link #onTouchListener(View.OnTouchListener)} still receives every event.
+		 * <p>
+		 * The events are recycled before the merged moves are delivered, so imitators receive a
+		 * {@link TouchSample} without an event, see {@link EventImitator#imitate(View, TouchSample)}.
+		 *
+		 * @return the builder for chaining
+		 */
+		@NonNull
+		public Builder coalesceMoveEvents() {
+			mCoalesceMoveEvents = true;
+			return this;
+		}
+
+		/**
+		 * A flag to tell the {@link Actor} to hand the rest of each motion to the view's
+		 * {@link android.view.ViewPropertyAnimator} when the user lifts their finger, so that it keeps
+		 * running on the RenderThread while the main thread is busy. The next
+		 * {@link MotionEvent#ACTION_DOWN} returns control to the spring, with the same position and
+		 * velocity.
+		 * <p>
+		 * Only motions whose performers are plain {@link Performer}s or
+		 * {@link com.tumblr.backboard.performer.MapPerformer}s of properties supported by
+		 * {@link android.view.ViewPropertyAnimator}, and that have no spring listeners, are handed
+		 * off. Other animations started with {@link View#animate()} on the same view are canceled
+		 * when control returns to the spring.
+		 *
+		 * @return the builder for chaining
+		 */
+		@NonNull
+		public Builder handOffRelease() {
+			mHandOffRelease = true;
+			return this;
+		}
+
 		/**
 		 * A flag to tell this builder not to attach the spring listeners to the spring.
 		 * They can be added with {@link Actor#addAllListeners()}.
@@ -584,13 +1030,35 @@ public final class Actor {
 		 */
 		@NonNull
 		public Actor build() {
+			// flatten the imitators so the touch listener doesn't have to walk each motion
+			int imitatorCount = 0;
+
+			for (int i = 0; i < mMotions.size(); i++) {
+				imitatorCount += mMotions.get(i).imitators.length;
+			}
+
+			final EventImitator[] imitators = new EventImitator[imitatorCount];
+			final Motion[] imitatorMotions = new Motion[imitatorCount];
+			int index = 0;
+
+			for (int i = 0; i < mMotions.size(); i++) {
+				final Motion motion = mMotions.get(i);
+
+				for (EventImitator imitator : motion.imitators) {
+					imitators[index] = imitator;
+					imitatorMotions[index] = motion;
+					index++;
+				}
+			}
+
 			// make connections
 
-			final Actor actor = new Actor(mView, mMotions, mOnTouchListener, mMotionListenerEnabled, mAttachMotionListener,
-					mRequestDisallowTouchEvent);
+			final Actor actor = new Actor(this, new ArrayList<Motion>(mMotions), imitators, imitatorMotions);
 
-			if (mAttachSpringListeners) {
-				actor.addAllListeners();
+			for (int i = 0; i < mMotions.size(); i++) {
+				final Motion motion = mMotions.get(i);
+				motion.springListener.mAttached = mAttachSpringListeners;
+				motion.spring.addListener(motion.springListener);
 			}
 
 			return actor;
@@ -602,11 +1070,16 @@ public final class Actor {
 		@SuppressLint("ClickableViewAccessibility")
 		public boolean onTouch(@NonNull final View v, @NonNull final MotionEvent event) {
 
+			if (mTouchTraceRecorder != null) {
+				mTouchTraceRecorder.record(v, event);
+			}
+
 			final boolean retVal;
+			final EventImitator[] imitators = mImitators;
 
-			if (!mMotionListenerEnabled || mMotions.isEmpty()) {
+			if (!mMotionListenerEnabled || imitators.length == 0) {
 
-				if (mOnTouchListener != null) {
+				if (mHasOnTouchListener) {
 					retVal = mOnTouchListener.onTouch(v, event);
 				} else {
 					retVal = false;
@@ -615,13 +1088,49 @@ public final class Actor {
 				return retVal;
 			}
 
-			for (Motion motion : mMotions) {
-				for (EventImitator imitator : motion.imitators) {
-					imitator.imitate(v, event);
+			final TouchSample sample;
+
+			if (mCoalesceMoveEvents && event.getAction() == MotionEvent.ACTION_MOVE) {
+				sample = queueMove(event);
+			} else {
+				if (mCoalesceMoveEvents) {
+					// keep the order of events
+					ChoreographerCompat.getInstance().removeFrameCallback(mFrameCallback);
+					dispatchPendingMove();
+				}
+
+				sample = mTouchSample.set(v, event);
+
+				final int action = sample.getAction();
+				final ReleaseHandoff[] releaseHandoffs = mReleaseHandoffs;
+
+				if (action == MotionEvent.ACTION_DOWN) {
+					mClickable = v.isClickable();
+
+					if (releaseHandoffs != null) {
+						for (ReleaseHandoff releaseHandoff : releaseHandoffs) {
+							releaseHandoff.finish();
+						}
+					}
+				}
+
+				final Motion[] imitatorMotions = mImitatorMotions;
+
+				for (int i = 0; i < imitators.length; i++) {
+					if (imitatorMotions[i].inputEnabled) {
+						imitators[i].imitate(v, sample);
+					}
+				}
+
+				if (releaseHandoffs != null
+						&& (action == MotionEvent.ACTION_UP || action == MotionEvent.ACTION_CANCEL)) {
+					for (ReleaseHandoff releaseHandoff : releaseHandoffs) {
+						releaseHandoff.start();
+					}
 				}
 			}
 
-			if (mOnTouchListener != null) {
+			if (mHasOnTouchListener) {
 				retVal = mOnTouchListener.onTouch(v, event);
 			} else {
 				retVal = true;
@@ -632,21 +1141,22 @@ public final class Actor {
 				v.getParent().requestDisallowInterceptTouchEvent(true);
 			}
 
-			if (v.isClickable()) {
-				if (event.getEventTime() - event.getDownTime()
+			if (mClickable) {
+				if (sample.getEventTime() - sample.getDownTime()
 						> ViewConfiguration.getLongPressTimeout()) {
 					v.setPressed(false);
 
 					return true;
 				}
 
-				if (event.getHistorySize() > 0) {
-					final float deltaX = event.getHistoricalX(event.getHistorySize() - 1) - event.getX();
-					final float deltaY = event.getHistoricalY(event.getHistorySize() - 1) - event.getY();
+				final int historySize = sample.getHistorySize();
+
+				if (historySize > 0) {
+					final float deltaX = sample.getHistoricalX(historySize - 1) - sample.getX();
+					final float deltaY = sample.getHistoricalY(historySize - 1) - sample.getY();
 
 					// if user has moved too far, it is no longer a click
-					final boolean removeClickState = Math.pow(deltaX, 2) + Math.pow(deltaY, 2)
-							> Math.pow(MAX_CLICK_DISTANCE, 2);
+					final boolean removeClickState = deltaX * deltaX + deltaY * deltaY > MAX_CLICK_DISTANCE_SQ;
 
 					v.setPressed(!removeClickState);
 
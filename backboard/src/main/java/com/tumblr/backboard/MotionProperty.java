@@ -18,19 +18,31 @@ public enum MotionProperty {
 	/**
 	 * X direction, corresponds to {@link MotionEvent#getX()} and maps to {@link View#TRANSLATION_X}.
 	 */
-	X(View.TRANSLATION_X),
+	X(MotionAxis.X, View.TRANSLATION_X),
 	/**
 	 * Y direction, corresponds to {@link MotionEvent#getY()} and maps to {@link View#TRANSLATION_Y}.
 	 */
-	Y(View.TRANSLATION_Y);
+	Y(MotionAxis.Y, View.TRANSLATION_Y);
 
+	@NonNull
+	private final MotionAxis mAxis;
 	@NonNull
 	private final Property<View, Float> mViewProperty;
 
-	private MotionProperty(@NonNull final Property<View, Float> viewProperty) {
+	private MotionProperty(@NonNull final MotionAxis axis, @NonNull final Property<View, Float> viewProperty) {
+		mAxis = axis;
 		mViewProperty = viewProperty;
 	}
 
+	/**
+	 * @return the axis of an {@link InputSample} that this {@link com.tumblr.backboard.MotionProperty}
+	 * corresponds to
+	 */
+	@NonNull
+	public MotionAxis getAxis() {
+		return mAxis;
+	}
+
 	/**
 	 * @return the view property that this {@link com.tumblr.backboard.MotionProperty}
 	 * corresponds to
@@ -47,7 +59,15 @@ public enum MotionProperty {
 	 */
 	public float getValue(@Nullable final View view) {
 		if (view != null) {
-			return mViewProperty.get(view);
+			// read directly to avoid unboxing the property value
+			switch (this) {
+			case X:
+				return view.getTranslationX();
+			case Y:
+				return view.getTranslationY();
+			default:
+				return mViewProperty.get(view);
+			}
 		}
 
 		return 0;
@@ -74,6 +94,16 @@ public enum MotionProperty {
 		return 0;
 	}
 
+	/**
+	 * @param sample
+	 * 		the sample to inspect
+	 * @return the current value that this property represents on the given
+	 * {@link InputSample}.
+	 */
+	public float getValue(@NonNull final InputSample sample) {
+		return mAxis.getValue(sample);
+	}
+
 	/**
 	 * <i>Note that this method does not check the validity of</i> <code>index</code>.
 	 *
@@ -111,6 +141,42 @@ public enum MotionProperty {
 		return getHistoricalValue(event, 0);
 	}
 
+	/**
+	 * <i>Note that this method does not check the validity of</i> <code>index</code>.
+	 *
+	 * @param sample
+	 * 		the sample to inspect
+	 * @param index
+	 * 		the historical index (in {@link InputSample#getHistoricalX(int)} or {@link InputSample#getHistoricalY(int)})
+	 * @return the historical value that this property represents on the given
+	 * {@link InputSample}.
+	 */
+	public float getHistoricalValue(@NonNull final InputSample sample, final int index) {
+		return mAxis.getHistoricalValue(sample, index);
+	}
+
+	/**
+	 * <i>Note that this method does not check the validity of</i> <code>index</code>.
+	 *
+	 * @param sample
+	 * 		the sample to inspect
+	 * @return the oldest historical value that this property represents on the given
+	 * {@link InputSample}.
+	 */
+	public float getOldestValue(@NonNull final InputSample sample) {
+		return mAxis.getOldestValue(sample);
+	}
+
+	/**
+	 * @param sample
+	 * 		the sample to inspect
+	 * @return the value of the view property that this {@link com.tumblr.backboard.MotionProperty}
+	 * corresponds to, as captured by the given {@link InputSample}.
+	 */
+	public float getViewValue(@NonNull final InputSample sample) {
+		return mAxis.getViewValue(sample);
+	}
+
 	/**
 	 * @param view
 	 * 		the view to inspect
@@ -131,4 +197,14 @@ public enum MotionProperty {
 
 		return 0;
 	}
+
+	/**
+	 * @param sample
+	 * 		the sample to inspect
+	 * @return the offset from the center that this property represents on the view captured by
+	 * the given {@link InputSample}, in pixels.
+	 */
+	public float getOffset(@NonNull final InputSample sample) {
+		return mAxis.getOffset(sample);
+	}
 }
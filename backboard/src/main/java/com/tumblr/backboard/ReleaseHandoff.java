@@ -0,0 +1,234 @@
+package com.tumblr.backboard;
+
+import android.util.Property;
+import android.view.View;
+import android.view.ViewPropertyAnimator;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.facebook.rebound.Spring;
+import com.facebook.rebound.SpringConfig;
+import com.tumblr.backboard.performer.MapPerformer;
+import com.tumblr.backboard.performer.Performer;
+import com.tumblr.backboard.physics.SpringCurve;
+import com.tumblr.backboard.physics.SpringCurveInterpolator;
+
+/**
+ * Hands the rest of a released {@link Actor.Motion} to {@link ViewPropertyAnimator}s. Once the
+ * user lifts their finger, the spring only runs to its end value, so its trajectory is computed
+ * up front as a {@link SpringCurve} and played by the view's animator, which runs on the
+ * RenderThread when possible. The spring is held at rest meanwhile.
+ * <p>
+ * {@link #finish()} returns control to the spring, with the position and velocity of the curve at
+ * that time. So does a change to the spring during the handoff, e.g. a new end value, which is kept;
+ * the motion's spring listener reports it through {@link #interrupt(double)}.
+ */
+final class ReleaseHandoff implements Runnable {
+
+	private static final double NANOSECONDS_PER_SECOND = 1e9;
+	private static final double MILLISECONDS_PER_SECOND = 1000;
+
+	@NonNull
+	private final Actor.Motion mMotion;
+
+	/**
+	 * The curve being played, if any.
+	 */
+	@Nullable
+	private SpringCurve mCurve;
+	private double mStartValue;
+	private double mEndValue;
+	private long mStartTimeNanos;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param motion
+	 * 		the motion to hand off.
+	 */
+	ReleaseHandoff(@NonNull final Actor.Motion motion) {
+		mMotion = motion;
+	}
+
+	/**
+	 * @param performer
+	 * 		the performer.
+	 * @return whether or not a {@link ViewPropertyAnimator} can do the work of the performer.
+	 */
+	private static boolean canAnimate(@NonNull final Performer performer) {
+		final Class<?> performerClass = performer.getClass();
+
+		return (performerClass == Performer.class || performerClass == MapPerformer.class)
+				&& performer.getTarget() != null && isAnimatable(performer.getProperty());
+	}
+
+	/**
+	 * @param property
+	 * 		a view property.
+	 * @return whether or not {@link ViewPropertyAnimator} can animate the property.
+	 */
+	private static boolean isAnimatable(@NonNull final Property<?, ?> property) {
+		return property == View.TRANSLATION_X || property == View.TRANSLATION_Y
+				|| property == View.X || property == View.Y
+				|| property == View.SCALE_X || property == View.SCALE_Y
+				|| property == View.ROTATION || property == View.ROTATION_X || property == View.ROTATION_Y
+				|| property == View.ALPHA;
+	}
+
+	/**
+	 * Animates a property to a value.
+	 *
+	 * @param animator
+	 * 		the animator of the view.
+	 * @param property
+	 * 		the property, which must be {@link #isAnimatable(Property)}.
+	 * @param value
+	 * 		the final value of the property.
+	 */
+	private static void animate(@NonNull final ViewPropertyAnimator animator,
+	                            @NonNull final Property<?, ?> property, final float value) {
+		if (property == View.TRANSLATION_X) {
+			animator.translationX(value);
+		} else if (property == View.TRANSLATION_Y) {
+			animator.translationY(value);
+		} else if (property == View.X) {
+			animator.x(value);
+		} else if (property == View.Y) {
+			animator.y(value);
+		} else if (property == View.SCALE_X) {
+			animator.scaleX(value);
+		} else if (property == View.SCALE_Y) {
+			animator.scaleY(value);
+		} else if (property == View.ROTATION) {
+			animator.rotation(value);
+		} else if (property == View.ROTATION_X) {
+			animator.rotationX(value);
+		} else if (property == View.ROTATION_Y) {
+			animator.rotationY(value);
+		} else if (property == View.ALPHA) {
+			animator.alpha(value);
+		}
+	}
+
+	/**
+	 * Starts the animators, if the spring is moving freely and every performer of the motion can be
+	 * replaced by an animator. Motions with spring listeners are not handed off, since the listeners
+	 * expect every update. Only the listeners passed to the {@link Actor} are known, so a listener
+	 * registered on the spring directly, such as a
+	 * {@link com.tumblr.backboard.imitator.SpringImitator} that follows it, should be passed to the
+	 * motion instead to keep the motion from being handed off.
+	 *
+	 * @return whether or not the motion was handed off.
+	 */
+	boolean start() {
+		final Spring spring = mMotion.getSpring();
+		final Performer[] performers = mMotion.getPerformers();
+
+		if (mCurve != null || spring.isAtRest() || !mMotion.isOutputEnabled() || !mMotion.isAttached()
+				|| mMotion.hasSpringListeners() || performers.length == 0) {
+			return false;
+		}
+
+		for (Performer performer : performers) {
+			if (!canAnimate(performer)) {
+				return false;
+			}
+		}
+
+		final double start = spring.getCurrentValue();
+		final double end = spring.getEndValue();
+		final SpringConfig config = spring.getSpringConfig();
+		final SpringCurve curve = SpringCurve.compute(config.tension, config.friction, end - start,
+				spring.getVelocity(), spring.getRestSpeedThreshold(), spring.getRestDisplacementThreshold());
+
+		if (curve == null) {
+			return false;
+		}
+
+		final SpringCurveInterpolator interpolator = new SpringCurveInterpolator(curve);
+		final long duration = Math.round(curve.getDuration() * MILLISECONDS_PER_SECOND);
+
+		mCurve = curve;
+		mStartValue = start;
+		mEndValue = end;
+		mStartTimeNanos = System.nanoTime();
+
+		mMotion.setOutputEnabled(false);
+		spring.setAtRest();
+
+		for (Performer performer : performers) {
+			final ViewPropertyAnimator animator = performer.getTarget().animate()
+					.setDuration(duration)
+					.setInterpolator(interpolator);
+
+			animate(animator, performer.getProperty(), performer.getPropertyValue(end));
+
+			// start now, since another motion of the same view may set a different duration and interpolator
+			animator.start();
+		}
+
+		// only restores the spring's state, the animators do not need the main thread
+		performers[0].getTarget().postDelayed(this, duration);
+
+		return true;
+	}
+
+	@Override
+	public void run() {
+		finish();
+	}
+
+	/**
+	 * Stops the animators, if running, and returns control to the spring at the current position and
+	 * velocity of the curve.
+	 */
+	void finish() {
+		finish(mEndValue);
+	}
+
+	/**
+	 * Called when the spring is activated or given a new end value, which ends the handoff, if any.
+	 *
+	 * @param endValue
+	 * 		the end value of the spring, to keep.
+	 */
+	void interrupt(final double endValue) {
+		finish(endValue);
+	}
+
+	/**
+	 * Stops the animators, if running, and returns control to the spring at the current position and
+	 * velocity of the curve.
+	 *
+	 * @param endValue
+	 * 		the end value to give the spring.
+	 */
+	private void finish(final double endValue) {
+		final SpringCurve curve = mCurve;
+
+		if (curve == null) {
+			return;
+		}
+
+		mCurve = null;
+
+		final Spring spring = mMotion.getSpring();
+
+		final Performer[] performers = mMotion.getPerformers();
+		performers[0].getTarget().removeCallbacks(this);
+
+		for (Performer performer : performers) {
+			performer.getTarget().animate().cancel();
+		}
+
+		final double time = (System.nanoTime() - mStartTimeNanos) / NANOSECONDS_PER_SECOND;
+		final double distance = mEndValue - mStartValue;
+
+		// the performers overwrite whatever value the animators stopped at
+		mMotion.setOutputEnabled(true);
+		spring.setCurrentValue(mStartValue + distance * curve.getValue(time));
+		spring.setVelocity(distance * curve.getVelocity(time));
+		spring.setEndValue(endValue);
+	}
+}
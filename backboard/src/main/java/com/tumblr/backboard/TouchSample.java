@@ -0,0 +1,130 @@
+package com.tumblr.backboard;
+
+import android.view.MotionEvent;
+import android.view.View;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+/**
+ * A reusable snapshot of a {@link android.view.MotionEvent} and the {@link android.view.View} it
+ * was dispatched to. {@link com.tumblr.backboard.Actor} fills a single instance per event so that
+ * each {@link com.tumblr.backboard.imitator.EventImitator} reads plain fields instead of querying
+ * the event (and the view's properties) again.
+ * <p>
+ * Only the first pointer is captured, matching {@link MotionProperty#getValue(MotionEvent)}.
+ * Historical arrays grow as needed and are never shrunk, so steady-state filling does not
+ * allocate.
+ */
+public final class TouchSample extends MotionSample {
+
+	@Nullable
+	private MotionEvent mEvent;
+
+	/**
+	 * Copies the fields of the given event and view into this sample.
+	 *
+	 * @param view
+	 * 		the view the event was dispatched to, may be <code>null</code>.
+	 * @param event
+	 * 		the event to copy.
+	 * @return this object for chaining.
+	 */
+	@NonNull
+	public TouchSample set(@Nullable final View view, @NonNull final MotionEvent event) {
+		clearHistory();
+
+		appendHistory(event);
+		setCurrent(view, event);
+
+		return this;
+	}
+
+	/**
+	 * Merges a later event into this sample: the current position becomes the newest historical
+	 * sample, followed by the history of the given event, whose current position and action
+	 * replace those of this sample. Used to coalesce several {@link MotionEvent#ACTION_MOVE}s into
+	 * one.
+	 *
+	 * @param view
+	 * 		the view the event was dispatched to, may be <code>null</code>.
+	 * @param event
+	 * 		the later event.
+	 * @return this object for chaining.
+	 */
+	@NonNull
+	public TouchSample append(@Nullable final View view, @NonNull final MotionEvent event) {
+		addHistory(getEventTime(), getX(), getY());
+
+		appendHistory(event);
+		setCurrent(view, event);
+
+		return this;
+	}
+
+	/**
+	 * Copies the historical samples of the given event after the existing ones.
+	 *
+	 * @param event
+	 * 		the event to copy.
+	 */
+	private void appendHistory(@NonNull final MotionEvent event) {
+		final int historySize = event.getHistorySize();
+		ensureHistoryCapacity(getHistorySize() + historySize);
+
+		for (int i = 0; i < historySize; i++) {
+			addHistory(event.getHistoricalEventTime(i), event.getHistoricalX(i), event.getHistoricalY(i));
+		}
+	}
+
+	/**
+	 * Copies the current (non-historical) fields of the given event and view.
+	 *
+	 * @param view
+	 * 		the view the event was dispatched to, may be <code>null</code>.
+	 * @param event
+	 * 		the event to copy.
+	 */
+	private void setCurrent(@Nullable final View view, @NonNull final MotionEvent event) {
+		mEvent = event;
+
+		setCurrent(event.getAction(), event.getDownTime(), event.getEventTime(), event.getX(0), event.getY(0));
+
+		setTarget(view);
+	}
+
+	/**
+	 * Copies the layout of the view the sample is dispatched to.
+	 *
+	 * @param view
+	 * 		the view, may be <code>null</code>.
+	 * @return this object for chaining.
+	 */
+	@NonNull
+	public TouchSample setTarget(@Nullable final View view) {
+		if (view != null) {
+			setTarget(view.getTranslationX(), view.getTranslationY(), view.getWidth(), view.getHeight());
+		} else {
+			setTarget(0, 0, 0, 0);
+		}
+
+		return this;
+	}
+
+	/**
+	 * Forgets the event this sample was filled from, e.g. before it is recycled, so that the sample
+	 * can be delivered later.
+	 */
+	void clearEvent() {
+		mEvent = null;
+	}
+
+	/**
+	 * @return the event this sample was filled from, or <code>null</code> if it was not kept, e.g.
+	 * for coalesced moves. It is only valid while that event is being dispatched.
+	 */
+	@Nullable
+	public MotionEvent getEvent() {
+		return mEvent;
+	}
+}
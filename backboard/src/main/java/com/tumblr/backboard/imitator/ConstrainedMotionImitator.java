@@ -5,6 +5,7 @@ import android.view.MotionEvent;
 import androidx.annotation.NonNull;
 
 import com.tumblr.backboard.MotionProperty;
+import com.tumblr.backboard.physics.SpringFling;
 
 /**
  * Constrains the motion between the minimum and maximum values.
@@ -61,12 +62,7 @@ public class ConstrainedMotionImitator extends MotionImitator {
 	@Override
 	public void release(final MotionEvent event) {
 		if (mSpring != null) {
-			// snap to left or right depending on current location
-			if (mSpring.getCurrentValue() > mMaxValue) {
-				mSpring.setEndValue(mMaxValue);
-			} else if (mSpring.getCurrentValue() < mMinValue) {
-				mSpring.setEndValue(mMinValue);
-			}
+			SpringFling.constrain(mSpring, mMinValue, mMaxValue);
 		}
 	}
 
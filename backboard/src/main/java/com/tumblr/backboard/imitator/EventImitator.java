@@ -7,14 +7,23 @@ import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 
 import com.facebook.rebound.Spring;
+import com.tumblr.backboard.InputSample;
+import com.tumblr.backboard.TouchSample;
 
 /**
  * Maps a {@link android.view.MotionEvent} to a {@link com.facebook.rebound.Spring},
  * although it does not pick a property to map.
  * <p>
+ * The mapping itself is done by {@link SampleImitator}, which does not depend on Android. This
+ * class routes its callbacks to {@link #constrain(MotionEvent)},
+ * {@link #mime(float, float, float, float, MotionEvent)} and {@link #release(MotionEvent)}, which
+ * subclasses override. Their event is <code>null</code> when the imitated {@link InputSample} is not
+ * a {@link TouchSample}, e.g. a replayed sample, so values should be read through the sample where
+ * possible, as {@link SampleImitator} does.
+ * <p>
  * Created by ericleong on 5/30/14.
  */
-public abstract class EventImitator extends Imitator {
+public abstract class EventImitator extends SampleImitator {
 
 	/**
 	 * Constructor.
@@ -46,16 +55,44 @@ public abstract class EventImitator extends Imitator {
 		super(restValue, trackStrategy, followStrategy);
 	}
 
+	/**
+	 * @param sample
+	 * 		a sample.
+	 * @return the event the sample was filled from, if it is a {@link TouchSample}.
+	 */
+	@Nullable
+	private static MotionEvent getEvent(@NonNull final InputSample sample) {
+		return sample instanceof TouchSample ? ((TouchSample) sample).getEvent() : null;
+	}
+
+	@Override
+	protected final void onDown(@NonNull final InputSample sample) {
+		if (mAxis != null) {
+			mDownPosition = mAxis.getValue(sample) + mOffset;
+		}
+
+		constrain(getEvent(sample));
+	}
+
+	@Override
+	protected final void onMove(final float offset, final float value, final float delta, final float dt,
+	                            @NonNull final InputSample sample) {
+		mime(offset, value, delta, dt, getEvent(sample));
+	}
+
+	@Override
+	protected final void onUp(@NonNull final InputSample sample) {
+		release(getEvent(sample));
+	}
+
 	/**
 	 * Called when the user touches ({@link android.view.MotionEvent#ACTION_DOWN}).
 	 *
 	 * @param event
-	 * 		the motion event
+	 * 		the motion event, or <code>null</code> if the sample was not filled from one
 	 */
-	public void constrain(final MotionEvent event) {
-		if (mSpring != null && mFollowStrategy == FOLLOW_EXACT) {
-			mSpring.setVelocity(0);
-		}
+	public void constrain(@Nullable final MotionEvent event) {
+		constrainSpring();
 	}
 
 	/**
@@ -70,78 +107,69 @@ public abstract class EventImitator extends Imitator {
 	 * @param dt
 	 * 		the change in time
 	 * @param event
-	 * 		the motion event
+	 * 		the motion event, or <code>null</code> if the sample was not filled from one
 	 */
-	public void mime(final float offset, final float value, final float delta, final float dt, final MotionEvent event) {
-		if (mSpring != null) {
-			mSpring.setEndValue(mapToSpring(offset + value));
-
-			if (mFollowStrategy == FOLLOW_EXACT) {
-				mSpring.setCurrentValue(mSpring.getEndValue());
-
-				if (dt > 0) {
-					mSpring.setVelocity(delta / dt);
-				}
-			}
-		}
+	public void mime(final float offset, final float value, final float delta, final float dt,
+	                 @Nullable final MotionEvent event) {
+		mimeSpring(offset, value, delta, dt);
 	}
 
 	/**
 	 * Called when the user releases their finger ({@link android.view.MotionEvent#ACTION_UP}).
 	 *
 	 * @param event
-	 * 		the motion event
+	 * 		the motion event, or <code>null</code> if the sample was not filled from one
 	 */
-	public void release(final MotionEvent event) {
-		if (mSpring != null) {
-			mSpring.setEndValue(mRestValue);
-		}
+	public void release(@Nullable final MotionEvent event) {
+		releaseSpring();
 	}
 
 	/**
-	 * Called by a {@link com.tumblr.backboard.imitator.MotionImitator} (or another {@link
-	 * android.view.View.OnTouchListener}) when a {@link android.view.MotionEvent} occurs.
+	 * Maps a user's motion to {@link android.view.View} via a {@link com.facebook.rebound.Spring}.
 	 *
-	 * @param offset
-	 * 		the value offset
-	 * @param value
-	 * 		the current value
-	 * @param delta
-	 * 		the change in the value
+	 * @param view
+	 * 		the view to perturb.
 	 * @param event
-	 * 		the motion event
+	 * 		the motion to imitate.
 	 */
-	protected void imitate(final float offset, final float value, final float delta, @Nullable final MotionEvent event) {
-		if (event != null) {
-			switch (event.getAction()) {
-			case MotionEvent.ACTION_DOWN:
-				constrain(event);
-
-			case MotionEvent.ACTION_MOVE:
-				if (event.getHistorySize() > 0) {
-					mime(offset, value, delta,
-							event.getEventTime() - event.getHistoricalEventTime(0), event);
-				} else {
-					mime(offset, value, delta, 0, event);
-				}
-
-				break;
-			default:
-			case MotionEvent.ACTION_UP:
-				release(event);
-
-				break;
-			}
-		}
-	}
+	public abstract void imitate(final View view, @NonNull final MotionEvent event);
 
 	/**
 	 * Maps a user's motion to {@link android.view.View} via a {@link com.facebook.rebound.Spring}.
+	 * {@link com.tumblr.backboard.Actor} calls this with a sample it fills once per event, so that
+	 * several imitators do not each query the same {@link android.view.MotionEvent}.
+	 * <p>
+	 * The default implementation passes {@link TouchSample#getEvent()} to
+	 * {@link #imitate(View, MotionEvent)}. A sample without an event, such as the coalesced moves
+	 * of an actor, is imitated on the axis of this imitator through
+	 * {@link SampleImitator#imitate(InputSample)}, if it has one.
 	 *
 	 * @param view
 	 * 		the view to perturb.
-	 * @param event
-	 * 		the motion to imitate.
+	 * @param sample
+	 * 		the sampled motion to imitate.
 	 */
-	public abstract void imitate(final View view, @NonNull final MotionEvent event);
+	public void imitate(final View view, @NonNull final TouchSample sample) {
+		final MotionEvent event = sample.getEvent();
+
+		if (event != null) {
+			imitate(view, event);
+		} else if (mAxis != null) {
+			imitate(sample);
+		}
+	}
+
+	@Override
+	@NonNull
+	public EventImitator setVelocityEstimator(@Nullable final VelocityEstimator velocityEstimator) {
+		super.setVelocityEstimator(velocityEstimator);
+		return this;
+	}
+
+	@Override
+	@NonNull
+	public EventImitator setTouchPredictor(@Nullable final TouchPredictor touchPredictor) {
+		super.setTouchPredictor(touchPredictor);
+		return this;
+	}
 }
@@ -3,17 +3,24 @@ package com.tumblr.backboard.imitator;
 import android.view.MotionEvent;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 
+import com.facebook.rebound.ChoreographerCompat;
 import com.facebook.rebound.Spring;
 import com.facebook.rebound.SpringConfig;
 import com.facebook.rebound.SpringListener;
 import com.tumblr.backboard.MotionProperty;
+import com.tumblr.backboard.physics.SpringFling;
 
 /**
  * A {@link com.tumblr.backboard.imitator.ConstrainedMotionImitator} that moves freely when the
  * user is not dragging it. It copies the {@link com.facebook.rebound.SpringConfig} in
  * {@link #setSpring(com.facebook.rebound.Spring)} to use when the user is dragging.
  * <p>
+ * The free movement is a {@link SpringFling} with the friction of {@link #SPRING_CONFIG_FRICTION},
+ * stepped once per frame. The {@link SpringListener} callbacks are deprecated and do nothing; there
+ * is no need to register this imitator on its spring.
+ * <p>
  * Created by ericleong on 11/6/14.
  */
 public class InertialImitator extends ConstrainedMotionImitator implements SpringListener {
@@ -29,9 +36,14 @@ public class InertialImitator extends ConstrainedMotionImitator implements Sprin
 	public static final SpringConfig SPRING_CONFIG_FRICTION = new SpringConfig(0, DEFAULT_FRICTION);
 
 	/**
-	 * Used to convert {@link com.facebook.rebound.Spring#getVelocity()} to the units needed by
-	 * {@link #calculateRestPosition()}.
+	 * Formerly used to convert {@link com.facebook.rebound.Spring#getVelocity()} to estimate the
+	 * rest position, as <code>position + VELOCITY_RATIO * velocity / friction</code>. No longer used.
+	 *
+	 * @deprecated the rest position of a fling is exactly <code>position + velocity / friction</code>. Use
+	 * <code>new FlingDecay().set(position, velocity, DEFAULT_FRICTION).getRestPosition()</code>,
+	 * see {@link com.tumblr.backboard.physics.FlingDecay#getRestPosition()}.
 	 */
+	@Deprecated
 	public static final int VELOCITY_RATIO = 24;
 
 	/**
@@ -39,6 +51,11 @@ public class InertialImitator extends ConstrainedMotionImitator implements Sprin
 	 */
 	protected SpringConfig mOriginalConfig;
 
+	@NonNull
+	private final SpringFling mFling = new SpringFling();
+	@Nullable
+	private ChoreographerCompat.FrameCallback mFlingFrameCallback;
+
 	/**
 	 * Constructor. Uses {@link #TRACK_ABSOLUTE} and {@link #FOLLOW_EXACT}.
 	 *
@@ -74,8 +91,7 @@ public class InertialImitator extends ConstrainedMotionImitator implements Sprin
 
 	/**
 	 * Sets the {@link com.facebook.rebound.Spring} that this imitator should use. This class
-	 * attaches itself as a {@link com.facebook.rebound.SpringListener} and stores the
-	 * {@link com.facebook.rebound.SpringConfig} to use when the user is dragging.
+	 * stores the {@link com.facebook.rebound.SpringConfig} to use when the user is dragging.
 	 *
 	 * @param spring
 	 * 		the spring to use
@@ -83,13 +99,14 @@ public class InertialImitator extends ConstrainedMotionImitator implements Sprin
 	@Override
 	public void setSpring(@NonNull final Spring spring) {
 		super.setSpring(spring);
-		spring.addListener(this);
 
 		mOriginalConfig = spring.getSpringConfig();
 	}
 
 	@Override
 	public void constrain(final MotionEvent event) {
+		stopFling();
+
 		super.constrain(event);
 
 		mSpring.setSpringConfig(mOriginalConfig);
@@ -97,25 +114,42 @@ public class InertialImitator extends ConstrainedMotionImitator implements Sprin
 
 	@Override
 	public void release(final MotionEvent event) {
-		// snap to left or right depending on current location
-		final double restPosition = calculateRestPosition();
-		if (mSpring.getCurrentValue() > mMaxValue && restPosition > mMaxValue) {
-			mSpring.setEndValue(mMaxValue);
-		} else if (mSpring.getCurrentValue() < mMinValue && restPosition < mMinValue) {
-			mSpring.setEndValue(mMinValue);
-		} else {
-			mSpring.setSpringConfig(SPRING_CONFIG_FRICTION);
-			mSpring.setEndValue(Double.MAX_VALUE);
+		if (mSpring == null) {
+			return;
+		}
+
+		// the fling starts at the first frame, so that it runs on frame time alone
+		if (mFling.release(mSpring, SPRING_CONFIG_FRICTION.friction, mMinValue, mMaxValue)) {
+			if (mFlingFrameCallback == null) {
+				mFlingFrameCallback = new ChoreographerCompat.FrameCallback() {
+					@Override
+					public void doFrame(final long frameTimeNanos) {
+						if (mFling.step(frameTimeNanos)) {
+							ChoreographerCompat.getInstance().postFrameCallback(this);
+						}
+					}
+				};
+			}
+
+			ChoreographerCompat.getInstance().postFrameCallback(mFlingFrameCallback);
 		}
 	}
 
 	/**
-	 * @return the spring position when it comes to rest (given infinite time).
+	 * Stops the fling, if any, and hands its position and velocity to the spring.
 	 */
-	private double calculateRestPosition() {
-		// http://prettygoodphysics.wikispaces.com/file/view/DifferentialEquations.pdf
-		return mSpring.getCurrentValue()
-				+ VELOCITY_RATIO * mSpring.getVelocity() / (mSpring.getSpringConfig().friction);
+	private void stopFling() {
+		if (mFling.isFlinging()) {
+			ChoreographerCompat.getInstance().removeFrameCallback(mFlingFrameCallback);
+			mFling.stop(System.nanoTime());
+		}
+	}
+
+	/**
+	 * @return whether or not the spring is moving freely, driven by a {@link SpringFling}.
+	 */
+	public boolean isFlinging() {
+		return mFling.isFlinging();
 	}
 
 	public void setMinValue(final double minValue) {
@@ -126,33 +160,48 @@ public class InertialImitator extends ConstrainedMotionImitator implements Sprin
 		this.mMaxValue = maxValue;
 	}
 
+	/**
+	 * Does nothing.
+	 *
+	 * @deprecated this imitator no longer listens to its spring, since its fling is stepped by a
+	 * frame callback and bound crossings are computed on release. It is not registered on the
+	 * spring, and this callback will be removed along with {@link SpringListener}.
+	 */
 	@Override
+	@Deprecated
 	public void onSpringUpdate(final Spring spring) {
-		if (mSpring != null) {
-			final double restPosition = calculateRestPosition();
-			if (mSpring.getSpringConfig().equals(SPRING_CONFIG_FRICTION)) {
-				if (mSpring.getCurrentValue() > mMaxValue && restPosition > mMaxValue) {
-					mSpring.setSpringConfig(mOriginalConfig);
-					mSpring.setEndValue(mMaxValue);
-				} else if (mSpring.getCurrentValue() < mMinValue && restPosition < mMinValue) {
-					mSpring.setSpringConfig(mOriginalConfig);
-					mSpring.setEndValue(mMinValue);
-				}
-			}
-		}
+		// pass
 	}
 
+	/**
+	 * Does nothing.
+	 *
+	 * @deprecated see {@link #onSpringUpdate(Spring)}.
+	 */
 	@Override
+	@Deprecated
 	public void onSpringAtRest(final Spring spring) {
 		// pass
 	}
 
+	/**
+	 * Does nothing.
+	 *
+	 * @deprecated see {@link #onSpringUpdate(Spring)}.
+	 */
 	@Override
+	@Deprecated
 	public void onSpringActivate(final Spring spring) {
 		// pass
 	}
 
+	/**
+	 * Does nothing.
+	 *
+	 * @deprecated see {@link #onSpringUpdate(Spring)}.
+	 */
 	@Override
+	@Deprecated
 	public void onSpringEndStateChange(final Spring spring) {
 		// pass
 	}
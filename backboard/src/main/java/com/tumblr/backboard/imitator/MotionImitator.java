@@ -1,15 +1,22 @@
 package com.tumblr.backboard.imitator;
 
+import android.os.Build;
+import android.view.Display;
 import android.view.MotionEvent;
 import android.view.View;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 
 import com.facebook.rebound.Spring;
+import com.tumblr.backboard.InputSample;
 import com.tumblr.backboard.MotionProperty;
+import com.tumblr.backboard.TouchSample;
 
 /**
  * Maps a user's motion to a {@link android.view.View} via a {@link com.facebook.rebound.Spring}.
+ * The motion is tracked on the {@link com.tumblr.backboard.MotionAxis} of the
+ * {@link MotionProperty} by {@link SampleImitator#imitate(com.tumblr.backboard.InputSample)}.
  * <p>
  * Created by ericleong on 5/13/14.
  */
@@ -24,14 +31,11 @@ public class MotionImitator extends EventImitator {
 	protected MotionProperty mProperty;
 
 	/**
-	 * Used internally to keep track of the initial down position.
+	 * Reused when {@link #imitate(View, MotionEvent)} is called directly instead of through an
+	 * {@link com.tumblr.backboard.Actor}.
 	 */
-	protected float mDownPosition;
-
-	/**
-	 * The offset between the view left/right location and the desired "center" of the view.
-	 */
-	protected float mOffset;
+	@Nullable
+	private TouchSample mSample;
 
 	/**
 	 * Constructor. Uses {@link #TRACK_ABSOLUTE} and {@link #FOLLOW_EXACT}.
@@ -101,6 +105,8 @@ public class MotionImitator extends EventImitator {
 	                      final int trackStrategy, final int followStrategy) {
 		super(spring, restValue, trackStrategy, followStrategy);
 		mProperty = property;
+		mAxis = property.getAxis();
+		mVelocityEstimator = new LeastSquaresVelocityEstimator();
 	}
 
 	/**
@@ -119,6 +125,8 @@ public class MotionImitator extends EventImitator {
 	                      final int followStrategy) {
 		super(restValue, trackStrategy, followStrategy);
 		mProperty = property;
+		mAxis = property.getAxis();
+		mVelocityEstimator = new LeastSquaresVelocityEstimator();
 	}
 
 	public void setRestValue(final double restValue) {
@@ -140,26 +148,44 @@ public class MotionImitator extends EventImitator {
 	}
 
 	@Override
-	public void constrain(final MotionEvent event) {
+	@NonNull
+	public MotionImitator setReplayHistory(final boolean replayHistory) {
+		super.setReplayHistory(replayHistory);
+		return this;
+	}
+
+	@Override
+	public void constrain(@Nullable final MotionEvent event) {
 		super.constrain(event);
 
-		mDownPosition = mProperty.getValue(event) + mOffset;
+		// otherwise, the down position has been read from the sample
+		if (event != null) {
+			mDownPosition = mProperty.getValue(event) + mOffset;
+		}
 	}
 
 	@Override
 	public void imitate(final View view, @NonNull final MotionEvent event) {
+		if (mSample == null) {
+			mSample = new TouchSample();
+		}
 
-		final float viewValue = mProperty.getValue(view);
-		final float eventValue = mProperty.getValue(event);
-		mOffset = mProperty.getOffset(view);
-
-		if (event.getHistorySize() > 0) {
-			final float historicalValue = mProperty.getOldestValue(event);
+		imitate(view, mSample.set(view, event));
+	}
 
-			imitate(viewValue + mOffset, eventValue, eventValue - historicalValue, event);
-		} else {
-			imitate(viewValue + mOffset, eventValue, 0, event);
+	@Override
+	public void imitate(final View view, @NonNull final TouchSample sample) {
+		if (mTouchPredictor != null && sample.getAction() == InputSample.ACTION_DOWN
+				&& Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN_MR1) {
+			// the view may have moved to another display, or the display may have changed its rate
+			final Display display = view.getDisplay();
+
+			if (display != null) {
+				mTouchPredictor.setRefreshRate(display.getRefreshRate());
+			}
 		}
+
+		imitate(sample);
 	}
 
 	@Override
@@ -171,11 +197,6 @@ public class MotionImitator extends EventImitator {
 		}
 	}
 
-	@Override
-	protected double mapToSpring(final float motionValue) {
-		return motionValue;
-	}
-
 	@NonNull
 	public MotionProperty getProperty() {
 		return mProperty;
@@ -0,0 +1,118 @@
+package com.tumblr.backboard.imitator;
+
+import android.view.MotionEvent;
+import android.view.View;
+
+import androidx.annotation.NonNull;
+
+import com.tumblr.backboard.MotionProperty;
+import com.tumblr.backboard.TouchSample;
+
+/**
+ * A {@link MotionImitator} that snaps to the nearest target of a {@link SnapGrid} while the finger
+ * is within a radius of it, and follows the finger otherwise. Snapping is two dimensional, so the
+ * imitators of both axes of a view should share the same grid; the second one to ask finds the
+ * answer of the first.
+ * <p>
+ * The targets are in the same coordinates as the spring: for the {@link View#TRANSLATION_X} and
+ * {@link View#TRANSLATION_Y} of the dragged view, a target is the translation that centers the
+ * view on it.
+ */
+public class NearestSnapImitator extends MotionImitator {
+
+	@NonNull
+	private final SnapGrid mGrid;
+	private float mRadius;
+
+	/**
+	 * The position of the finger, in target coordinates.
+	 */
+	private float mTouchX;
+	private float mTouchY;
+
+	/**
+	 * Constructor. Uses {@link #TRACK_ABSOLUTE} and {@link #FOLLOW_SPRING}.
+	 *
+	 * @param property
+	 * 		the property to track.
+	 * @param grid
+	 * 		the targets to snap to.
+	 * @param radius
+	 * 		the maximum distance from the finger to a target to snap to it.
+	 */
+	public NearestSnapImitator(@NonNull final MotionProperty property, @NonNull final SnapGrid grid,
+	                           final float radius) {
+		this(property, TRACK_ABSOLUTE, FOLLOW_SPRING, grid, radius);
+	}
+
+	/**
+	 * Constructor.
+	 *
+	 * @param property
+	 * 		the property to track.
+	 * @param trackStrategy
+	 * 		the tracking strategy.
+	 * @param followStrategy
+	 * 		the follow strategy.
+	 * @param grid
+	 * 		the targets to snap to.
+	 * @param radius
+	 * 		the maximum distance from the finger to a target to snap to it.
+	 */
+	public NearestSnapImitator(@NonNull final MotionProperty property, final int trackStrategy,
+	                           final int followStrategy, @NonNull final SnapGrid grid, final float radius) {
+		super(property, 0, trackStrategy, followStrategy);
+
+		mGrid = grid;
+		mRadius = radius;
+	}
+
+	@Override
+	public void imitate(final View view, @NonNull final TouchSample sample) {
+		// the finger on both axes, as the translation that centers the view on it
+		mTouchX = sample.getTranslationX() - sample.getWidth() / 2 + sample.getX();
+		mTouchY = sample.getTranslationY() - sample.getHeight() / 2 + sample.getY();
+
+		super.imitate(view, sample);
+	}
+
+	@Override
+	public void mime(final float offset, final float value, final float delta, final float dt, final MotionEvent event) {
+		if (mSpring == null) {
+			return;
+		}
+
+		// this axis may be a historical sample
+		final float x = mProperty == MotionProperty.Y ? mTouchX : offset + value;
+		final float y = mProperty == MotionProperty.Y ? offset + value : mTouchY;
+
+		final int nearest = mGrid.findNearest(x, y, mRadius);
+
+		if (nearest >= 0) {
+			mSpring.setEndValue(mProperty == MotionProperty.Y ? mGrid.getY(nearest) : mGrid.getX(nearest));
+		} else {
+			// follow finger
+			super.mime(offset, value, delta, dt, event);
+		}
+	}
+
+	@NonNull
+	public SnapGrid getGrid() {
+		return mGrid;
+	}
+
+	public float getRadius() {
+		return mRadius;
+	}
+
+	/**
+	 * @param radius
+	 * 		the maximum distance from the finger to a target to snap to it.
+	 * @return this object for chaining
+	 */
+	@NonNull
+	public NearestSnapImitator setRadius(final float radius) {
+		mRadius = radius;
+		return this;
+	}
+}
@@ -0,0 +1,150 @@
+package com.tumblr.backboard.imitator;
+
+import android.view.MotionEvent;
+
+import androidx.annotation.NonNull;
+
+import com.tumblr.backboard.MotionProperty;
+
+/**
+ * A {@link MotionImitator} that snaps to one of a set of values when the user releases. The
+ * position the spring would coast to, given its velocity, is projected with a
+ * {@link com.tumblr.backboard.physics.FlingDecay}, and the snap point nearest to it is found by
+ * binary search in {@link SnapPoints}, so that carousels and pickers with many stops stay cheap.
+ * <p>
+ * An optional maximum skip limits how many snap points a single fling can advance, counted from
+ * the snap point nearest to where the drag started.
+ */
+public class SnapImitator extends MotionImitator {
+
+	/**
+	 * Allows a fling to skip any number of snap points.
+	 */
+	public static final int NO_MAX_SKIP = SnapPoints.NO_MAX_SKIP;
+
+	@NonNull
+	private SnapPoints mSnapPoints;
+	private int mMaxSkip = NO_MAX_SKIP;
+	private double mProjectionFriction = InertialImitator.DEFAULT_FRICTION;
+	/**
+	 * The index of the snap point nearest to the spring when the drag started, or -1.
+	 */
+	private int mStartIndex = -1;
+
+	/**
+	 * Constructor. Uses {@link #TRACK_ABSOLUTE} and {@link #FOLLOW_EXACT}.
+	 *
+	 * @param property
+	 * 		the property to track.
+	 * @param snapPoints
+	 * 		the values to snap to.
+	 */
+	public SnapImitator(@NonNull final MotionProperty property, @NonNull final double... snapPoints) {
+		this(property, TRACK_ABSOLUTE, FOLLOW_EXACT, snapPoints);
+	}
+
+	/**
+	 * Constructor.
+	 *
+	 * @param property
+	 * 		the property to track.
+	 * @param trackStrategy
+	 * 		the tracking strategy.
+	 * @param followStrategy
+	 * 		the follow strategy.
+	 * @param snapPoints
+	 * 		the values to snap to.
+	 */
+	public SnapImitator(@NonNull final MotionProperty property, final int trackStrategy, final int followStrategy,
+	                    @NonNull final double... snapPoints) {
+		super(property, trackStrategy, followStrategy);
+
+		mSnapPoints = new SnapPoints(snapPoints);
+	}
+
+	@Override
+	public void constrain(final MotionEvent event) {
+		super.constrain(event);
+
+		if (mSpring != null) {
+			mStartIndex = getNearestIndex(mSpring.getCurrentValue());
+		}
+	}
+
+	@Override
+	public void release(final MotionEvent event) {
+		if (mSpring == null || mSnapPoints.size() == 0) {
+			return;
+		}
+
+		final int index = mSnapPoints.getTargetIndex(mSpring.getCurrentValue(), mSpring.getVelocity(),
+				mProjectionFriction, mStartIndex, mMaxSkip);
+
+		mStartIndex = -1;
+		mSpring.setEndValue(mSnapPoints.get(index));
+	}
+
+	/**
+	 * Finds the nearest snap point by binary search.
+	 *
+	 * @param value
+	 * 		a value.
+	 * @return the index of the snap point nearest to the value, or -1 if there are none.
+	 */
+	public int getNearestIndex(final double value) {
+		return mSnapPoints.getNearestIndex(value);
+	}
+
+	/**
+	 * @return a copy of the snap points, in ascending order.
+	 */
+	@NonNull
+	public double[] getSnapPoints() {
+		return mSnapPoints.toArray();
+	}
+
+	/**
+	 * @param snapPoints
+	 * 		the values to snap to, in any order.
+	 * @return this object for chaining
+	 */
+	@NonNull
+	public SnapImitator setSnapPoints(@NonNull final double... snapPoints) {
+		mSnapPoints = new SnapPoints(snapPoints);
+		mStartIndex = -1;
+		return this;
+	}
+
+	public int getMaxSkip() {
+		return mMaxSkip;
+	}
+
+	/**
+	 * @param maxSkip
+	 * 		the maximum number of snap points a fling can advance from the one nearest to where the
+	 * 		drag started, or {@link #NO_MAX_SKIP}. With 0, the spring always returns to that snap point.
+	 * @return this object for chaining
+	 */
+	@NonNull
+	public SnapImitator setMaxSkip(final int maxSkip) {
+		mMaxSkip = maxSkip;
+		return this;
+	}
+
+	public double getProjectionFriction() {
+		return mProjectionFriction;
+	}
+
+	/**
+	 * @param projectionFriction
+	 * 		the friction used to project the release position from the velocity, greater than 0. A
+	 * 		higher friction projects a shorter distance. Defaults to
+	 * 		{@link InertialImitator#DEFAULT_FRICTION}.
+	 * @return this object for chaining
+	 */
+	@NonNull
+	public SnapImitator setProjectionFriction(final double projectionFriction) {
+		mProjectionFriction = projectionFriction;
+		return this;
+	}
+}
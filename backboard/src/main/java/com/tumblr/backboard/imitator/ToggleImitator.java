@@ -5,20 +5,63 @@ import android.view.MotionEvent;
 import android.view.View;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 
+import com.facebook.rebound.ChoreographerCompat;
+import com.facebook.rebound.SimpleSpringListener;
 import com.facebook.rebound.Spring;
+import com.facebook.rebound.SpringListener;
+import com.tumblr.backboard.physics.SpringCurve;
+import com.tumblr.backboard.physics.SpringCurveCache;
 
 /**
  * Toggle between two {@link com.facebook.rebound.Spring} states depending on whether or not the user is touching the
  * screen. When the user presses, {@link #constrain(android.view.MotionEvent)} is called and the active value is set.
  * When the user releases, {@link #release(android.view.MotionEvent)} is called and the rest value is set.
  * <p>
+ * Since a toggle always moves between the same two values, a {@link SpringCurveCache} can be set with
+ * {@link #setCurveCache(SpringCurveCache)}. Transitions that start at rest then play a precomputed curve, setting
+ * the current value of the spring each frame, instead of simulating the spring. A transition that interrupts a
+ * curve, or a new end value set on the spring by someone else, hands its position and velocity back to the spring.
+ * <p>
  * Created by ericleong on 5/21/14.
  */
 public class ToggleImitator extends EventImitator implements View.OnTouchListener {
 
+	private static final double NANOSECONDS_PER_SECOND = 1e9;
+
 	private double mActiveValue;
 
+	@Nullable
+	private SpringCurveCache mCurveCache;
+	/**
+	 * The curve being played, if any.
+	 */
+	@Nullable
+	private SpringCurve mCurve;
+	private double mCurveStartValue;
+	private double mCurveEndValue;
+	/**
+	 * The time of the first frame of the curve, if it has been played yet.
+	 */
+	private long mCurveStartTimeNanos;
+	private boolean mCurveStarted;
+	@Nullable
+	private ChoreographerCompat.FrameCallback mCurveFrameCallback;
+	/**
+	 * Registered on the spring while a curve plays, to stop it if the end value is changed elsewhere.
+	 */
+	@NonNull
+	private final SpringListener mCurveListener = new SimpleSpringListener() {
+		@Override
+		public void onSpringEndStateChange(final Spring spring) {
+			final double endValue = spring.getEndValue();
+
+			stopCurve();
+			spring.setEndValue(endValue);
+		}
+	};
+
 	/**
 	 * Constructor. It is necessary to call {@link #setSpring(Spring)} to set the spring.
 	 *
@@ -36,7 +79,133 @@ public class ToggleImitator extends EventImitator implements View.OnTouchListene
 
 	@Override
 	public void constrain(final MotionEvent event) {
-		mSpring.setEndValue(mActiveValue);
+		moveTo(mActiveValue);
+	}
+
+	@Override
+	public void release(final MotionEvent event) {
+		if (mSpring != null) {
+			moveTo(mRestValue);
+		}
+	}
+
+	/**
+	 * Moves the spring to the given value, with a cached curve if possible.
+	 *
+	 * @param value
+	 * 		the new end value.
+	 */
+	private void moveTo(final double value) {
+		stopCurve();
+
+		if (mCurveCache != null && mSpring.isAtRest() && mSpring.getCurrentValue() != value) {
+			final double start = mSpring.getCurrentValue();
+			final SpringCurve curve = mCurveCache.get(mSpring.getSpringConfig(), value - start);
+
+			if (curve != null) {
+				playCurve(curve, start, value);
+				return;
+			}
+		}
+
+		mSpring.setEndValue(value);
+	}
+
+	/**
+	 * Starts playing a curve on the next frame.
+	 *
+	 * @param curve
+	 * 		the normalized curve.
+	 * @param start
+	 * 		the value at the start of the curve.
+	 * @param end
+	 * 		the value at the end of the curve.
+	 */
+	private void playCurve(@NonNull final SpringCurve curve, final double start, final double end) {
+		if (mCurveFrameCallback == null) {
+			mCurveFrameCallback = new ChoreographerCompat.FrameCallback() {
+				@Override
+				public void doFrame(final long frameTimeNanos) {
+					stepCurve(frameTimeNanos);
+				}
+			};
+		}
+
+		mCurve = curve;
+		mCurveStartValue = start;
+		mCurveEndValue = end;
+		mCurveStarted = false;
+
+		mSpring.addListener(mCurveListener);
+		ChoreographerCompat.getInstance().postFrameCallback(mCurveFrameCallback);
+	}
+
+	/**
+	 * Sets the current value of the spring from the curve. The curve starts at the first frame, so
+	 * that it is timed like the frames it is drawn in.
+	 *
+	 * @param frameTimeNanos
+	 * 		the time of the frame, in the {@link System#nanoTime()} time base.
+	 */
+	private void stepCurve(final long frameTimeNanos) {
+		final SpringCurve curve = mCurve;
+
+		if (curve == null) {
+			return;
+		}
+
+		if (!mCurveStarted) {
+			mCurveStarted = true;
+			mCurveStartTimeNanos = frameTimeNanos;
+		}
+
+		final double time = (frameTimeNanos - mCurveStartTimeNanos) / NANOSECONDS_PER_SECOND;
+
+		if (time >= curve.getDuration()) {
+			mCurve = null;
+			mSpring.removeListener(mCurveListener);
+			mSpring.setCurrentValue(mCurveEndValue);
+		} else {
+			mSpring.setCurrentValue(mCurveStartValue + (mCurveEndValue - mCurveStartValue) * curve.getValue(time));
+			ChoreographerCompat.getInstance().postFrameCallback(mCurveFrameCallback);
+		}
+	}
+
+	/**
+	 * Stops the curve being played, if any, and hands its position and velocity to the spring.
+	 */
+	private void stopCurve() {
+		final SpringCurve curve = mCurve;
+
+		if (curve == null) {
+			return;
+		}
+
+		mCurve = null;
+		mSpring.removeListener(mCurveListener);
+		ChoreographerCompat.getInstance().removeFrameCallback(mCurveFrameCallback);
+
+		final double time = mCurveStarted ? (System.nanoTime() - mCurveStartTimeNanos) / NANOSECONDS_PER_SECOND : 0;
+		final double distance = mCurveEndValue - mCurveStartValue;
+
+		mSpring.setCurrentValue(mCurveStartValue + distance * curve.getValue(time));
+		mSpring.setVelocity(distance * curve.getVelocity(time));
+	}
+
+	@Nullable
+	public SpringCurveCache getCurveCache() {
+		return mCurveCache;
+	}
+
+	/**
+	 * @param curveCache
+	 * 		the cache of curves to play instead of simulating the spring, or <code>null</code> to always simulate it.
+	 * @return this object for chaining
+	 */
+	@NonNull
+	public ToggleImitator setCurveCache(@Nullable final SpringCurveCache curveCache) {
+		mCurveCache = curveCache;
+		return this;
 	}
 
 	@Override
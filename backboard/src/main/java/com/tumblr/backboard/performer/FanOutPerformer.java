@@ -0,0 +1,173 @@
+package com.tumblr.backboard.performer;
+
+import android.util.Property;
+import android.view.View;
+
+import androidx.annotation.NonNull;
+
+import com.facebook.rebound.Spring;
+import com.facebook.rebound.SpringListener;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Maps the motion of a single {@link com.facebook.rebound.Spring} to many
+ * {@link android.util.Property}s on many {@link android.view.View}s, like a set of
+ * {@link com.tumblr.backboard.performer.MapPerformer}s sharing one listener.
+ * <p>
+ * The linear mapping of each target is precomputed, and targets are kept in parallel arrays so
+ * that each spring update is a single loop with no allocation. This is useful for radial menus
+ * and grid reveals with many children.
+ */
+public class FanOutPerformer implements SpringListener {
+
+	/**
+	 * Initial capacity of the target arrays.
+	 */
+	private static final int INITIAL_CAPACITY = 8;
+
+	@NonNull
+	private View[] mTargets = new View[INITIAL_CAPACITY];
+	/**
+	 * A list, since arrays of a generic type can't be created. Only read for properties without a
+	 * {@link FloatSetter}.
+	 */
+	@NonNull
+	private final List<Property<View, Float>> mProperties = new ArrayList<Property<View, Float>>(INITIAL_CAPACITY);
+	@NonNull
+	private FloatSetter[] mFloatSetters = new FloatSetter[INITIAL_CAPACITY];
+	@NonNull
+	private double[] mSlopes = new double[INITIAL_CAPACITY];
+	@NonNull
+	private double[] mIntercepts = new double[INITIAL_CAPACITY];
+	private int mCount;
+
+	/**
+	 * Adds a target. Maps the spring domain [0, 1] to the specified view property range.
+	 *
+	 * @param target
+	 * 		the view to modify.
+	 * @param property
+	 * 		the view property to modify.
+	 * @param start
+	 * 		the minimum value for the view property range.
+	 * @param end
+	 * 		the maximum value for the view property range.
+	 * @return this object for chaining
+	 */
+	@NonNull
+	public FanOutPerformer add(@NonNull final View target, @NonNull final Property<View, Float> property,
+	                           final float start, final float end) {
+		return add(target, property, 0, 1, start, end);
+	}
+
+	/**
+	 * Adds a target.
+	 *
+	 * @param target
+	 * 		the view to modify.
+	 * @param property
+	 * 		the view property to modify.
+	 * @param initialStart
+	 * 		the minimum value for the spring domain.
+	 * @param initialEnd
+	 * 		the maximum value for the spring domain.
+	 * @param start
+	 * 		the minimum value for the view property range.
+	 * @param end
+	 * 		the maximum value for the view property range.
+	 * @return this object for chaining
+	 */
+	@NonNull
+	public FanOutPerformer add(@NonNull final View target, @NonNull final Property<View, Float> property,
+	                           final float initialStart, final float initialEnd, final float start, final float end) {
+		if (mCount == mTargets.length) {
+			grow();
+		}
+
+		// same as SpringUtil.mapValueFromRangeToRange, in slope-intercept form
+		final double slope = ((double) end - start) / ((double) initialEnd - initialStart);
+
+		mTargets[mCount] = target;
+		mProperties.add(property);
+		mFloatSetters[mCount] = Performer.getFloatSetter(property);
+		mSlopes[mCount] = slope;
+		mIntercepts[mCount] = start - initialStart * slope;
+		mCount++;
+
+		return this;
+	}
+
+	/**
+	 * Doubles the capacity of the target arrays.
+	 */
+	private void grow() {
+		final int capacity = 2 * mTargets.length;
+
+		final View[] targets = new View[capacity];
+		final FloatSetter[] floatSetters = new FloatSetter[capacity];
+		final double[] slopes = new double[capacity];
+		final double[] intercepts = new double[capacity];
+
+		System.arraycopy(mTargets, 0, targets, 0, mCount);
+		System.arraycopy(mFloatSetters, 0, floatSetters, 0, mCount);
+		System.arraycopy(mSlopes, 0, slopes, 0, mCount);
+		System.arraycopy(mIntercepts, 0, intercepts, 0, mCount);
+
+		mTargets = targets;
+		mFloatSetters = floatSetters;
+		mSlopes = slopes;
+		mIntercepts = intercepts;
+	}
+
+	/**
+	 * @return the number of targets.
+	 */
+	public int size() {
+		return mCount;
+	}
+
+	@Override
+	public void onSpringUpdate(@NonNull final Spring spring) {
+		perform(spring.getCurrentValue());
+	}
+
+	/**
+	 * Maps a spring value to every target.
+	 *
+	 * @param value
+	 * 		the current value of the spring.
+	 */
+	public void perform(final double value) {
+		final View[] targets = mTargets;
+		final FloatSetter[] floatSetters = mFloatSetters;
+		final double[] slopes = mSlopes;
+		final double[] intercepts = mIntercepts;
+
+		for (int i = 0; i < mCount; i++) {
+			final float mapped = (float) (value * slopes[i] + intercepts[i]);
+
+			if (floatSetters[i] != null) {
+				floatSetters[i].setValue(targets[i], mapped);
+			} else {
+				mProperties.get(i).set(targets[i], mapped);
+			}
+		}
+	}
+
+	@Override
+	public void onSpringAtRest(final Spring spring) {
+
+	}
+
+	@Override
+	public void onSpringActivate(final Spring spring) {
+
+	}
+
+	@Override
+	public void onSpringEndStateChange(final Spring spring) {
+
+	}
+}
@@ -0,0 +1,22 @@
+package com.tumblr.backboard.performer;
+
+import android.view.View;
+
+import androidx.annotation.NonNull;
+
+/**
+ * Sets a float value on a {@link android.view.View} without boxing it. A
+ * {@link android.util.Property} passed to a {@link com.tumblr.backboard.performer.Performer} that
+ * also implements this interface is set through {@link #setValue(View, float)} instead of
+ * {@link android.util.Property#set(Object, Object)}.
+ */
+public interface FloatSetter {
+
+	/**
+	 * @param target
+	 * 		the view to modify.
+	 * @param value
+	 * 		the new value.
+	 */
+	void setValue(@NonNull View target, float value);
+}
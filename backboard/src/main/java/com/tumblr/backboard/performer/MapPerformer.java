@@ -5,12 +5,10 @@ import android.view.View;
 
 import androidx.annotation.NonNull;
 
-import com.facebook.rebound.Spring;
-import com.facebook.rebound.SpringUtil;
-
 /**
  * Maps the motion of a {@link com.facebook.rebound.Spring} to a
- * {@link android.util.Property} on a {@link android.view.View}.
+ * {@link android.util.Property} on a {@link android.view.View}, with
+ * {@link FloatPerformer#setRange(double, double, double, double)}.
  * <p>
  * Created by ericleong on 5/6/14.
  */
@@ -18,8 +16,6 @@ public class MapPerformer extends Performer {
 
 	private static final String TAG = MapPerformer.class.getSimpleName();
 
-	private float initialStart, initialEnd, start, end;
-
 	/**
 	 * Constructor. Maps the spring domain [0, 1] to the view property range [0, 1].
 	 *
@@ -68,18 +64,6 @@ public class MapPerformer extends Performer {
 	                    final float initialEnd, final float start, final float end) {
 		super(target, property);
 
-		this.initialStart = initialStart;
-		this.initialEnd = initialEnd;
-		this.start = start;
-		this.end = end;
-	}
-
-	@Override
-	public void onSpringUpdate(@NonNull final Spring spring) {
-
-		mProperty.set(mTarget,
-				(float) SpringUtil.mapValueFromRangeToRange(spring.getCurrentValue(),
-						initialStart, initialEnd, start, end)
-		);
+		setRange(initialStart, initialEnd, start, end);
 	}
 }
@@ -1,21 +1,22 @@
 package com.tumblr.backboard.performer;
 
+import android.annotation.TargetApi;
+import android.os.Build;
+import android.util.FloatProperty;
 import android.util.Property;
 import android.view.View;
 
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 
-import com.facebook.rebound.Spring;
-import com.facebook.rebound.SpringListener;
-
 /**
  * Directly maps the motion of a {@link com.facebook.rebound.Spring} to a
- * {@link android.util.Property} on a {@link android.view.View}.
+ * {@link android.util.Property} on a {@link android.view.View}. This is a {@link FloatPerformer}
+ * whose target is the view property.
  * <p>
  * Created by ericleong on 5/19/14.
  */
-public class Performer implements SpringListener {
+public class Performer extends FloatPerformer {
 
 	/**
 	 * The view to modify.
@@ -27,6 +28,11 @@ public class Performer implements SpringListener {
 	 */
 	@NonNull
 	protected Property<View, Float> mProperty;
+	/**
+	 * Sets {@link #mProperty} without boxing, if it supports it.
+	 */
+	@Nullable
+	protected FloatSetter mFloatSetter;
 
 	/**
 	 * Constructor. Note that a {@link View} must be specified by {@link #setTarget(View)}.
@@ -47,8 +53,46 @@ public class Performer implements SpringListener {
 	 * 		the view property to modify.
 	 */
 	public Performer(@Nullable final View target, @NonNull final Property<View, Float> property) {
+		super(null);
+
 		this.mTarget = target;
 		this.mProperty = property;
+		this.mFloatSetter = getFloatSetter(property);
+	}
+
+	/**
+	 * @param property
+	 * 		the view property to modify.
+	 * @return a way to set the property without boxing, or <code>null</code> if there is none.
+	 */
+	@Nullable
+	static FloatSetter getFloatSetter(@Nullable final Property<View, Float> property) {
+		if (property instanceof FloatSetter) {
+			return (FloatSetter) property;
+		} else if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.N && property instanceof FloatProperty) {
+			return new FloatPropertySetter(property);
+		}
+
+		return null;
+	}
+
+	/**
+	 * Adapts a {@link FloatProperty}, which the platform uses for the built-in view properties.
+	 */
+	@TargetApi(Build.VERSION_CODES.N)
+	private static final class FloatPropertySetter implements FloatSetter {
+		@NonNull
+		private final FloatProperty<View> mFloatProperty;
+
+		@SuppressWarnings("unchecked")
+		private FloatPropertySetter(@NonNull final Property<View, Float> property) {
+			mFloatProperty = (FloatProperty<View>) property;
+		}
+
+		@Override
+		public void setValue(@NonNull final View target, final float value) {
+			mFloatProperty.setValue(target, value);
+		}
 	}
 
 	@Nullable
@@ -65,29 +109,29 @@ public class Performer implements SpringListener {
 		return mProperty;
 	}
 
+	/**
+	 * @param property
+	 * 		the view property to modify.
+	 */
 	public void setProperty(@NonNull final Property<View, Float> property) {
 		this.mProperty = property;
+		this.mFloatSetter = getFloatSetter(property);
 	}
 
+	/**
+	 * Sets the view property, without boxing if possible.
+	 *
+	 * @param value
+	 * 		the new value of the view property.
+	 */
 	@Override
-	public void onSpringUpdate(@NonNull final Spring spring) {
-		if (mProperty != null && mTarget != null) {
-			mProperty.set(mTarget, (float) spring.getCurrentValue());
+	protected void setValue(final float value) {
+		if (mTarget != null) {
+			if (mFloatSetter != null) {
+				mFloatSetter.setValue(mTarget, value);
+			} else if (mProperty != null) {
+				mProperty.set(mTarget, value);
+			}
 		}
 	}
-
-	@Override
-	public void onSpringAtRest(final Spring spring) {
-
-	}
-
-	@Override
-	public void onSpringActivate(final Spring spring) {
-
-	}
-
-	@Override
-	public void onSpringEndStateChange(final Spring spring) {
-
-	}
 }
@@ -0,0 +1,229 @@
+package com.tumblr.backboard.physics;
+
+import android.view.View;
+import android.view.ViewGroup;
+
+import androidx.annotation.NonNull;
+
+import com.facebook.rebound.SpringConfig;
+import com.tumblr.backboard.performer.Performer;
+
+/**
+ * Spawns short-lived views, each moved by two springs of a {@link SpringBatch}, and recycles them
+ * when their motion ends: once the view leaves the bounds set by
+ * {@link #setBounds(double, double, double, double)}, or both springs come to rest.
+ * <p>
+ * Each particle (a view, its performers and its spring listener) is kept in a bounded
+ * {@link Pool}, and spring handles are reused by the batch, so sustained spawning does not
+ * allocate once the pool has warmed up. Recycled views stay attached to the parent and laid out,
+ * but are {@link View#INVISIBLE}, so that spawning and recycling do not request a layout of the
+ * parent; views that do not fit in the pool are removed.
+ */
+public class Emitter {
+
+	/**
+	 * Creates the views of an {@link Emitter}.
+	 */
+	public interface ViewFactory {
+		/**
+		 * @param parent
+		 * 		the parent the view will be added to.
+		 * @return a new view, with layout params suitable for the parent.
+		 */
+		@NonNull
+		View createView(@NonNull ViewGroup parent);
+	}
+
+	/**
+	 * A pooled view, with the performers and listener of its springs.
+	 */
+	private static final class Particle implements SpringBatch.Listener {
+		@NonNull
+		private final Emitter mEmitter;
+		@NonNull
+		private final View mView;
+		@NonNull
+		private final Performer mXPerformer;
+		@NonNull
+		private final Performer mYPerformer;
+
+		private int mXHandle = -1;
+		private int mYHandle = -1;
+
+		private Particle(@NonNull final Emitter emitter, @NonNull final View view) {
+			mEmitter = emitter;
+			mView = view;
+			mXPerformer = new Performer(view, View.TRANSLATION_X);
+			mYPerformer = new Performer(view, View.TRANSLATION_Y);
+		}
+
+		@Override
+		public void onSpringUpdate(@NonNull final BaseSpringBatch batch, final int handle) {
+			final double value = batch.getCurrentValue(handle);
+
+			if (handle == mXHandle ? value < mEmitter.mMinX || value > mEmitter.mMaxX
+					: value < mEmitter.mMinY || value > mEmitter.mMaxY) {
+				mEmitter.recycle(this);
+			}
+		}
+
+		@Override
+		public void onSpringAtRest(@NonNull final BaseSpringBatch batch, final int handle) {
+			if (batch.isAtRest(mXHandle) && batch.isAtRest(mYHandle)) {
+				mEmitter.recycle(this);
+			}
+		}
+	}
+
+	@NonNull
+	private final SpringBatch mBatch;
+	@NonNull
+	private final ViewGroup mParent;
+	@NonNull
+	private final ViewFactory mViewFactory;
+	@NonNull
+	private final Pool<Particle> mPool;
+
+	private double mMinX = -Double.MAX_VALUE;
+	private double mMaxX = Double.MAX_VALUE;
+	private double mMinY = -Double.MAX_VALUE;
+	private double mMaxY = Double.MAX_VALUE;
+
+	private int mLiveCount;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param batch
+	 * 		steps the springs of the particles.
+	 * @param parent
+	 * 		the parent of the particle views.
+	 * @param viewFactory
+	 * 		creates the particle views.
+	 * @param maxPoolSize
+	 * 		the maximum number of recycled particles to keep.
+	 */
+	public Emitter(@NonNull final SpringBatch batch, @NonNull final ViewGroup parent,
+	               @NonNull final ViewFactory viewFactory, final int maxPoolSize) {
+		mBatch = batch;
+		mParent = parent;
+		mViewFactory = viewFactory;
+		mPool = new Pool<Particle>(maxPoolSize) {
+			@NonNull
+			@Override
+			protected Particle create() {
+				final View view = mViewFactory.createView(mParent);
+				mParent.addView(view);
+
+				return new Particle(Emitter.this, view);
+			}
+		};
+	}
+
+	/**
+	 * Sets the bounds of the particles, in translation. A particle is recycled once it leaves them.
+	 *
+	 * @param minX
+	 * 		the minimum x translation.
+	 * @param maxX
+	 * 		the maximum x translation.
+	 * @param minY
+	 * 		the minimum y translation.
+	 * @param maxY
+	 * 		the maximum y translation.
+	 * @return this object for chaining
+	 */
+	@NonNull
+	public Emitter setBounds(final double minX, final double maxX, final double minY, final double maxY) {
+		mMinX = minX;
+		mMaxX = maxX;
+		mMinY = minY;
+		mMaxY = maxY;
+		return this;
+	}
+
+	/**
+	 * Spawns a particle at the origin (zero translation).
+	 *
+	 * @param xConfig
+	 * 		the config of the x spring.
+	 * @param yConfig
+	 * 		the config of the y spring.
+	 * @param xVelocity
+	 * 		the initial x velocity, in pixels per second.
+	 * @param yVelocity
+	 * 		the initial y velocity, in pixels per second.
+	 * @param xEndValue
+	 * 		the end value of the x spring.
+	 * @param yEndValue
+	 * 		the end value of the y spring.
+	 * @return the view of the particle, e.g. to set its background.
+	 */
+	@NonNull
+	public View emit(@NonNull final SpringConfig xConfig, @NonNull final SpringConfig yConfig,
+	                 final double xVelocity, final double yVelocity,
+	                 final double xEndValue, final double yEndValue) {
+		final Particle particle = mPool.acquire();
+
+		particle.mXHandle = mBatch.create(xConfig);
+		particle.mYHandle = mBatch.create(yConfig);
+
+		mBatch.setPerformer(particle.mXHandle, particle.mXPerformer);
+		mBatch.setPerformer(particle.mYHandle, particle.mYPerformer);
+		mBatch.setListener(particle.mXHandle, particle);
+		mBatch.setListener(particle.mYHandle, particle);
+
+		particle.mView.setTranslationX(0);
+		particle.mView.setTranslationY(0);
+		particle.mView.setVisibility(View.VISIBLE);
+
+		mBatch.setVelocity(particle.mXHandle, xVelocity);
+		mBatch.setVelocity(particle.mYHandle, yVelocity);
+		mBatch.setEndValue(particle.mXHandle, xEndValue);
+		mBatch.setEndValue(particle.mYHandle, yEndValue);
+
+		mLiveCount++;
+
+		return particle.mView;
+	}
+
+	/**
+	 * Ends the motion of a particle and returns it to the pool.
+	 *
+	 * @param particle
+	 * 		the particle.
+	 */
+	private void recycle(@NonNull final Particle particle) {
+		if (particle.mXHandle < 0) {
+			return;
+		}
+
+		mBatch.destroy(particle.mXHandle);
+		mBatch.destroy(particle.mYHandle);
+		particle.mXHandle = -1;
+		particle.mYHandle = -1;
+
+		mLiveCount--;
+
+		if (mPool.release(particle)) {
+			particle.mView.setVisibility(View.INVISIBLE);
+		} else {
+			mParent.removeView(particle.mView);
+		}
+	}
+
+	/**
+	 * @return the number of particles in motion.
+	 */
+	public int getLiveCount() {
+		return mLiveCount;
+	}
+
+	/**
+	 * @return the pool of particles, e.g. for its hit and miss counts.
+	 */
+	@NonNull
+	public Pool<?> getPool() {
+		return mPool;
+	}
+}
@@ -0,0 +1,406 @@
+package com.tumblr.backboard.physics;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.facebook.rebound.ChoreographerCompat;
+import com.facebook.rebound.Spring;
+import com.facebook.rebound.SpringConfig;
+import com.facebook.rebound.SpringListener;
+import com.tumblr.backboard.performer.Performer;
+
+/**
+ * A trail of springs, where each link follows the one before it and the first link follows a
+ * leader. This replaces a chain of {@link com.tumblr.backboard.imitator.SpringImitator}s, where
+ * each link only moves when the listener of the previous spring fires, so links settle in the
+ * order the listeners were added and can lag a frame behind.
+ * <p>
+ * Every link is stepped in order within one loop, so each link follows the position its
+ * predecessor has in the same step. The state of the links is kept in primitive arrays, and all
+ * links share one {@link SpringConfig}. The physics match {@link com.facebook.rebound.Spring}:
+ * RK4 in fixed 1 ms steps, at most 64 ms per frame.
+ * <p>
+ * To follow a {@link Spring}, add the chain as its listener. While the leader is moving, the chain
+ * is stepped right after it, in the same frame; otherwise, it steps itself with
+ * {@link ChoreographerCompat} until every link comes to rest. The leader value can also be set
+ * directly with {@link #setLeaderValue(double)}.
+ * <p>
+ * All methods must be called on the main thread.
+ */
+public class FollowChain implements SpringListener {
+
+	/**
+	 * Same as {@link com.facebook.rebound.Spring}.
+	 */
+	private static final double SOLVER_TIMESTEP_SEC = 0.001;
+	/**
+	 * Same as {@link com.facebook.rebound.Spring}.
+	 */
+	private static final double MAX_DELTA_TIME_SEC = 0.064;
+
+	private static final double NANOSECONDS_PER_SECOND = 1e9;
+	private static final double SIXTH = 1.0 / 6.0;
+
+	@NonNull
+	private final double[] mPosition;
+	@NonNull
+	private final double[] mVelocity;
+	@NonNull
+	private final Performer[] mPerformers;
+
+	private double mTension;
+	private double mFriction;
+	private double mLeaderValue;
+
+	private double mRestSpeedThreshold = SpringBatch.DEFAULT_REST_THRESHOLD;
+	private double mRestDisplacementThreshold = SpringBatch.DEFAULT_REST_THRESHOLD;
+
+	private boolean mAtRest = true;
+	/**
+	 * Whether or not the leader spring is being stepped by its own system, which then steps the chain.
+	 */
+	private boolean mLeaderMoving;
+	private boolean mRunning;
+	private long mLastStepTimeNanos;
+
+	@NonNull
+	private final ChoreographerCompat.FrameCallback mFrameCallback = new ChoreographerCompat.FrameCallback() {
+		@Override
+		public void doFrame(final long frameTimeNanos) {
+			mRunning = false;
+
+			if (!mLeaderMoving) {
+				stepTo(frameTimeNanos);
+			}
+		}
+	};
+
+	/**
+	 * Constructor. Uses {@link SpringConfig#defaultConfig}.
+	 *
+	 * @param size
+	 * 		the number of links.
+	 */
+	public FollowChain(final int size) {
+		this(size, SpringConfig.defaultConfig);
+	}
+
+	/**
+	 * Constructor.
+	 *
+	 * @param size
+	 * 		the number of links.
+	 * @param config
+	 * 		the spring config of every link.
+	 */
+	public FollowChain(final int size, @NonNull final SpringConfig config) {
+		mPosition = new double[size];
+		mVelocity = new double[size];
+		mPerformers = new Performer[size];
+
+		setSpringConfig(config);
+	}
+
+	/**
+	 * Steps the chain by the time since the last step, and keeps stepping on later frames if
+	 * needed.
+	 *
+	 * @param timeNanos
+	 * 		the current time, in the {@link System#nanoTime()} time base.
+	 */
+	private void stepTo(final long timeNanos) {
+		final long delta = Math.max(0, timeNanos - mLastStepTimeNanos);
+		mLastStepTimeNanos = timeNanos;
+
+		step(delta / NANOSECONDS_PER_SECOND);
+
+		if (!mAtRest && !mLeaderMoving) {
+			run();
+		}
+	}
+
+	/**
+	 * Steps the chain on the next frame.
+	 */
+	private void run() {
+		if (!mRunning) {
+			mRunning = true;
+			ChoreographerCompat.getInstance().postFrameCallback(mFrameCallback);
+		}
+	}
+
+	/**
+	 * Wakes the chain after a change.
+	 */
+	private void activate() {
+		if (mAtRest) {
+			mAtRest = false;
+			mLastStepTimeNanos = System.nanoTime();
+		}
+
+		if (!mLeaderMoving) {
+			run();
+		}
+	}
+
+	/**
+	 * Advances every link, in order, and notifies their performers. This is called every frame
+	 * while the chain is moving, but may also be called directly, e.g. to render offscreen.
+	 *
+	 * @param deltaSeconds
+	 * 		the time to advance, in seconds. Capped at 64 ms, like {@link com.facebook.rebound.Spring}.
+	 */
+	public void step(final double deltaSeconds) {
+		if (mAtRest) {
+			return;
+		}
+
+		final double[] positions = mPosition;
+		final double[] velocities = mVelocity;
+		final int size = positions.length;
+		final double tension = mTension;
+		final double friction = mFriction;
+
+		double remaining = Math.min(deltaSeconds, MAX_DELTA_TIME_SEC);
+
+		while (remaining > 0) {
+			final double dt = Math.min(remaining, SOLVER_TIMESTEP_SEC);
+			remaining -= dt;
+
+			double end = mLeaderValue;
+
+			for (int i = 0; i < size; i++) {
+				final double position = positions[i];
+				final double velocity = velocities[i];
+
+				// RK4, same as com.facebook.rebound.Spring
+				final double aVelocity = velocity;
+				final double aAcceleration = tension * (end - position) - friction * velocity;
+
+				final double bVelocity = velocity + aAcceleration * dt / 2;
+				final double bAcceleration = tension * (end - (position + aVelocity * dt / 2))
+						- friction * bVelocity;
+
+				final double cVelocity = velocity + bAcceleration * dt / 2;
+				final double cAcceleration = tension * (end - (position + bVelocity * dt / 2))
+						- friction * cVelocity;
+
+				final double dVelocity = velocity + cAcceleration * dt;
+				final double dAcceleration = tension * (end - (position + cVelocity * dt))
+						- friction * dVelocity;
+
+				positions[i] = position + (aVelocity + 2 * (bVelocity + cVelocity) + dVelocity) * SIXTH * dt;
+				velocities[i] = velocity
+						+ (aAcceleration + 2 * (bAcceleration + cAcceleration) + dAcceleration) * SIXTH * dt;
+
+				// the next link follows this one where it is now
+				end = positions[i];
+			}
+		}
+
+		boolean atRest = true;
+		double end = mLeaderValue;
+
+		for (int i = 0; i < size && atRest; i++) {
+			atRest = Math.abs(velocities[i]) <= mRestSpeedThreshold
+					&& Math.abs(end - positions[i]) <= mRestDisplacementThreshold;
+			end = positions[i];
+		}
+
+		if (atRest) {
+			for (int i = 0; i < size; i++) {
+				positions[i] = mLeaderValue;
+				velocities[i] = 0;
+			}
+
+			mAtRest = true;
+		}
+
+		for (int i = 0; i < size; i++) {
+			if (mPerformers[i] != null) {
+				mPerformers[i].perform(positions[i]);
+			}
+		}
+	}
+
+	/**
+	 * @return the number of links.
+	 */
+	public int size() {
+		return mPosition.length;
+	}
+
+	/**
+	 * @return whether or not every link has come to rest at the leader value.
+	 */
+	public boolean isAtRest() {
+		return mAtRest;
+	}
+
+	public double getLeaderValue() {
+		return mLeaderValue;
+	}
+
+	/**
+	 * Moves the leader, which the first link follows.
+	 *
+	 * @param leaderValue
+	 * 		the new leader value.
+	 */
+	public void setLeaderValue(final double leaderValue) {
+		if (mLeaderValue != leaderValue) {
+			mLeaderValue = leaderValue;
+			activate();
+		}
+	}
+
+	/**
+	 * Moves the leader and every link to a value, at rest.
+	 *
+	 * @param value
+	 * 		the new value.
+	 */
+	public void setCurrentValue(final double value) {
+		mLeaderValue = value;
+
+		for (int i = 0; i < mPosition.length; i++) {
+			mPosition[i] = value;
+			mVelocity[i] = 0;
+
+			if (mPerformers[i] != null) {
+				mPerformers[i].perform(value);
+			}
+		}
+
+		mAtRest = true;
+	}
+
+	/**
+	 * <i>Note that this method does not check the validity of</i> <code>index</code>.
+	 *
+	 * @param index
+	 * 		the index of the link, starting from the one that follows the leader.
+	 * @return the current value of the link.
+	 */
+	public double getCurrentValue(final int index) {
+		return mPosition[index];
+	}
+
+	/**
+	 * <i>Note that this method does not check the validity of</i> <code>index</code>.
+	 *
+	 * @param index
+	 * 		the index of the link, starting from the one that follows the leader.
+	 * @return the velocity of the link, in units per second.
+	 */
+	public double getVelocity(final int index) {
+		return mVelocity[index];
+	}
+
+	/**
+	 * Sets the spring config of every link.
+	 *
+	 * @param config
+	 * 		the spring config.
+	 */
+	public void setSpringConfig(@NonNull final SpringConfig config) {
+		mTension = config.tension;
+		mFriction = config.friction;
+	}
+
+	/**
+	 * @param index
+	 * 		the index of the link.
+	 * @return the performer driven by the link, if any.
+	 */
+	@Nullable
+	public Performer getPerformer(final int index) {
+		return mPerformers[index];
+	}
+
+	/**
+	 * Sets the performer driven by a link, through {@link Performer#perform(double)}.
+	 *
+	 * @param index
+	 * 		the index of the link.
+	 * @param performer
+	 * 		the performer, or <code>null</code> to remove it.
+	 * @return this object for chaining
+	 */
+	@NonNull
+	public FollowChain setPerformer(final int index, @Nullable final Performer performer) {
+		mPerformers[index] = performer;
+		return this;
+	}
+
+	public double getRestSpeedThreshold() {
+		return mRestSpeedThreshold;
+	}
+
+	/**
+	 * @param restSpeedThreshold
+	 * 		the speed below which a link may be at rest, in units per second.
+	 * @return this object for chaining
+	 */
+	@NonNull
+	public FollowChain setRestSpeedThreshold(final double restSpeedThreshold) {
+		mRestSpeedThreshold = restSpeedThreshold;
+		return this;
+	}
+
+	public double getRestDisplacementThreshold() {
+		return mRestDisplacementThreshold;
+	}
+
+	/**
+	 * @param restDisplacementThreshold
+	 * 		the distance from the link before it below which a link may be at rest.
+	 * @return this object for chaining
+	 */
+	@NonNull
+	public FollowChain setRestDisplacementThreshold(final double restDisplacementThreshold) {
+		mRestDisplacementThreshold = restDisplacementThreshold;
+		return this;
+	}
+
+	/**
+	 * Follows the leader spring. If the leader is moving, it is being stepped by its system, so the
+	 * chain steps now, in the same frame; otherwise, its value was set directly, e.g. from a touch
+	 * event, and the chain steps on the next frame.
+	 *
+	 * @param spring
+	 * 		the leader.
+	 */
+	@Override
+	public void onSpringUpdate(@NonNull final Spring spring) {
+		mLeaderValue = spring.getCurrentValue();
+
+		if (spring.isAtRest()) {
+			mLeaderMoving = false;
+			activate();
+		} else {
+			mLeaderMoving = true;
+			activate();
+			stepTo(System.nanoTime());
+		}
+	}
+
+	@Override
+	public void onSpringAtRest(@NonNull final Spring spring) {
+		mLeaderMoving = false;
+
+		if (!mAtRest) {
+			run();
+		}
+	}
+
+	@Override
+	public void onSpringActivate(final Spring spring) {
+		// pass
+	}
+
+	@Override
+	public void onSpringEndStateChange(final Spring spring) {
+		// pass
+	}
+}
@@ -0,0 +1,358 @@
+package com.tumblr.backboard.physics;
+
+import android.content.Context;
+import android.graphics.Canvas;
+import android.graphics.drawable.Drawable;
+import android.util.AttributeSet;
+import android.view.View;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.facebook.rebound.SpringConfig;
+
+/**
+ * Draws many spring-driven particles in a single view. Unlike an {@link Emitter}, which moves one
+ * child view per particle, the particles here are only entries in primitive arrays: each frame
+ * costs one {@link #invalidate()} and one {@link #onDraw(Canvas)}, no matter how many particles
+ * there are.
+ * <p>
+ * Each particle is a {@link Drawable} of size {@link #getParticleSize()}, centered at the center
+ * of this view plus the values of its x and y springs, like a child view translated from
+ * <code>CENTER_IN_PARENT</code>. A particle is removed, and its springs destroyed, as soon as the
+ * batch moves it entirely outside of this view, or both of its springs come to rest.
+ */
+public class ParticleView extends View implements SpringBatch.Listener {
+
+	/**
+	 * Initial capacity of the particle arrays.
+	 */
+	private static final int INITIAL_CAPACITY = 64;
+
+	/**
+	 * Replaces the handles of a removed particle until {@link #onDraw(Canvas)} drops it.
+	 */
+	private static final int REMOVED = -1;
+
+	@Nullable
+	private SpringBatch mSpringBatch;
+
+	@NonNull
+	private int[] mXHandles = new int[INITIAL_CAPACITY];
+	@NonNull
+	private int[] mYHandles = new int[INITIAL_CAPACITY];
+	@NonNull
+	private Drawable[] mDrawables = new Drawable[INITIAL_CAPACITY];
+	private int mCount;
+
+	/**
+	 * The index of the particle that each spring handle belongs to.
+	 */
+	@NonNull
+	private int[] mParticleIndices = new int[2 * INITIAL_CAPACITY];
+	/**
+	 * The number of removed particles that are still in the particle arrays.
+	 */
+	private int mRemovedCount;
+
+	private int mParticleSize;
+
+	/**
+	 * Whether or not an {@link #invalidate()} is pending, so it is only requested once per frame.
+	 */
+	private boolean mInvalidated;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param context
+	 * 		the context.
+	 */
+	public ParticleView(final Context context) {
+		super(context);
+	}
+
+	/**
+	 * Constructor.
+	 *
+	 * @param context
+	 * 		the context.
+	 * @param attrs
+	 * 		the attributes of the XML tag inflating the view.
+	 */
+	public ParticleView(final Context context, final AttributeSet attrs) {
+		super(context, attrs);
+	}
+
+	/**
+	 * Constructor.
+	 *
+	 * @param context
+	 * 		the context.
+	 * @param attrs
+	 * 		the attributes of the XML tag inflating the view.
+	 * @param defStyleAttr
+	 * 		the default style attribute.
+	 */
+	public ParticleView(final Context context, final AttributeSet attrs, final int defStyleAttr) {
+		super(context, attrs, defStyleAttr);
+	}
+
+	/**
+	 * @return the batch that steps the springs of the particles, created if needed.
+	 */
+	@NonNull
+	public SpringBatch getSpringBatch() {
+		if (mSpringBatch == null) {
+			mSpringBatch = new SpringBatch();
+		}
+
+		return mSpringBatch;
+	}
+
+	/**
+	 * Sets the batch that steps the springs of the particles. Must be called before the first
+	 * particle is emitted.
+	 *
+	 * @param springBatch
+	 * 		the batch.
+	 */
+	public void setSpringBatch(@NonNull final SpringBatch springBatch) {
+		mSpringBatch = springBatch;
+	}
+
+	public int getParticleSize() {
+		return mParticleSize;
+	}
+
+	/**
+	 * @param particleSize
+	 * 		the width and height of each particle, in pixels.
+	 */
+	public void setParticleSize(final int particleSize) {
+		mParticleSize = particleSize;
+	}
+
+	/**
+	 * @return the number of particles.
+	 */
+	public int getParticleCount() {
+		return mCount - mRemovedCount;
+	}
+
+	/**
+	 * Spawns a particle at the center of this view.
+	 *
+	 * @param drawable
+	 * 		draws the particle. May be shared by many particles.
+	 * @param xConfig
+	 * 		the config of the x spring.
+	 * @param yConfig
+	 * 		the config of the y spring.
+	 * @param xVelocity
+	 * 		the initial x velocity, in pixels per second.
+	 * @param yVelocity
+	 * 		the initial y velocity, in pixels per second.
+	 * @param xEndValue
+	 * 		the end value of the x spring.
+	 * @param yEndValue
+	 * 		the end value of the y spring.
+	 */
+	public void emit(@NonNull final Drawable drawable,
+	                 @NonNull final SpringConfig xConfig, @NonNull final SpringConfig yConfig,
+	                 final double xVelocity, final double yVelocity,
+	                 final double xEndValue, final double yEndValue) {
+		final SpringBatch batch = getSpringBatch();
+
+		if (mCount == mXHandles.length) {
+			grow();
+		}
+
+		final int xHandle = batch.create(xConfig);
+		final int yHandle = batch.create(yConfig);
+
+		batch.setListener(xHandle, this);
+		batch.setListener(yHandle, this);
+
+		if (Math.max(xHandle, yHandle) >= mParticleIndices.length) {
+			final int[] particleIndices = new int[2 * Math.max(xHandle, yHandle) + 2];
+			System.arraycopy(mParticleIndices, 0, particleIndices, 0, mParticleIndices.length);
+			mParticleIndices = particleIndices;
+		}
+
+		mParticleIndices[xHandle] = mCount;
+		mParticleIndices[yHandle] = mCount;
+		mXHandles[mCount] = xHandle;
+		mYHandles[mCount] = yHandle;
+		mDrawables[mCount] = drawable;
+		mCount++;
+
+		batch.setVelocity(xHandle, xVelocity);
+		batch.setVelocity(yHandle, yVelocity);
+		batch.setEndValue(xHandle, xEndValue);
+		batch.setEndValue(yHandle, yEndValue);
+
+		invalidateOnce();
+	}
+
+	/**
+	 * Removes every particle.
+	 */
+	public void clear() {
+		if (mSpringBatch != null) {
+			for (int i = 0; i < mCount; i++) {
+				if (mXHandles[i] != REMOVED) {
+					mSpringBatch.destroy(mXHandles[i]);
+					mSpringBatch.destroy(mYHandles[i]);
+				}
+
+				mDrawables[i] = null;
+			}
+		}
+
+		mCount = 0;
+		mRemovedCount = 0;
+
+		invalidateOnce();
+	}
+
+	/**
+	 * Doubles the capacity of the particle arrays.
+	 */
+	private void grow() {
+		final int capacity = 2 * mXHandles.length;
+
+		final int[] xHandles = new int[capacity];
+		final int[] yHandles = new int[capacity];
+		final Drawable[] drawables = new Drawable[capacity];
+
+		System.arraycopy(mXHandles, 0, xHandles, 0, mCount);
+		System.arraycopy(mYHandles, 0, yHandles, 0, mCount);
+		System.arraycopy(mDrawables, 0, drawables, 0, mCount);
+
+		mXHandles = xHandles;
+		mYHandles = yHandles;
+		mDrawables = drawables;
+	}
+
+	private void invalidateOnce() {
+		if (!mInvalidated) {
+			mInvalidated = true;
+			invalidate();
+		}
+	}
+
+	/**
+	 * Destroys the springs of a particle. It is dropped from the particle arrays by the next
+	 * {@link #onDraw(Canvas)}, which must be requested to erase it anyway.
+	 *
+	 * @param batch
+	 * 		the batch that owns the springs.
+	 * @param index
+	 * 		the index of the particle.
+	 */
+	private void remove(@NonNull final BaseSpringBatch batch, final int index) {
+		batch.destroy(mXHandles[index]);
+		batch.destroy(mYHandles[index]);
+
+		mXHandles[index] = REMOVED;
+		mYHandles[index] = REMOVED;
+		mDrawables[index] = null;
+		mRemovedCount++;
+
+		invalidateOnce();
+	}
+
+	/**
+	 * @param batch
+	 * 		the batch that owns the springs.
+	 * @param index
+	 * 		the index of the particle.
+	 * @return whether or not the particle would be drawn entirely outside of this view.
+	 */
+	private boolean isOutside(@NonNull final BaseSpringBatch batch, final int index) {
+		final int size = mParticleSize;
+		final int width = getWidth();
+		final int height = getHeight();
+		final int x = (width - size) / 2 + (int) batch.getCurrentValue(mXHandles[index]);
+		final int y = (height - size) / 2 + (int) batch.getCurrentValue(mYHandles[index]);
+
+		return x + size < 0 || x > width || y + size < 0 || y > height;
+	}
+
+	@Override
+	public void onSpringUpdate(@NonNull final BaseSpringBatch batch, final int handle) {
+		final int index = mParticleIndices[handle];
+
+		if (isOutside(batch, index)) {
+			remove(batch, index);
+		} else {
+			invalidateOnce();
+		}
+	}
+
+	@Override
+	public void onSpringAtRest(@NonNull final BaseSpringBatch batch, final int handle) {
+		final int index = mParticleIndices[handle];
+
+		if (batch.isAtRest(mXHandles[index]) && batch.isAtRest(mYHandles[index])) {
+			remove(batch, index);
+		}
+	}
+
+	@Override
+	protected void onDetachedFromWindow() {
+		super.onDetachedFromWindow();
+
+		clear();
+	}
+
+	@Override
+	protected void onDraw(@NonNull final Canvas canvas) {
+		super.onDraw(canvas);
+
+		mInvalidated = false;
+
+		if (mSpringBatch == null) {
+			return;
+		}
+
+		final SpringBatch batch = mSpringBatch;
+		final int size = mParticleSize;
+		final int left = (getWidth() - size) / 2;
+		final int top = (getHeight() - size) / 2;
+
+		// draws the particles, and drops the ones the batch callbacks removed in the same pass
+		int kept = 0;
+
+		for (int i = 0; i < mCount; i++) {
+			final int xHandle = mXHandles[i];
+			final int yHandle = mYHandles[i];
+			final Drawable drawable = mDrawables[i];
+
+			if (xHandle == REMOVED) {
+				continue;
+			}
+
+			final int x = left + (int) batch.getCurrentValue(xHandle);
+			final int y = top + (int) batch.getCurrentValue(yHandle);
+
+			drawable.setBounds(x, y, x + size, y + size);
+			drawable.draw(canvas);
+
+			mParticleIndices[xHandle] = kept;
+			mParticleIndices[yHandle] = kept;
+			mXHandles[kept] = xHandle;
+			mYHandles[kept] = yHandle;
+			mDrawables[kept] = drawable;
+			kept++;
+		}
+
+		for (int i = kept; i < mCount; i++) {
+			mDrawables[i] = null;
+		}
+
+		mCount = kept;
+		mRemovedCount = 0;
+	}
+}
@@ -0,0 +1,123 @@
+package com.tumblr.backboard.physics;
+
+import androidx.annotation.NonNull;
+
+/**
+ * A bounded pool of reusable objects. {@link #acquire()} returns a released object if there is
+ * one (a hit), and creates a new one otherwise (a miss). {@link #release(Object)} keeps at most
+ * {@link #getMaxSize()} objects, so that a burst does not pin memory forever.
+ * <p>
+ * Not thread safe.
+ *
+ * @param <T>
+ * 		the type of the pooled objects.
+ */
+public abstract class Pool<T> {
+
+	@NonNull
+	private final Object[] mObjects;
+	private int mSize;
+
+	private int mHitCount;
+	private int mMissCount;
+	private int mDropCount;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param maxSize
+	 * 		the maximum number of released objects to keep.
+	 */
+	protected Pool(final int maxSize) {
+		if (maxSize < 0) {
+			throw new IllegalArgumentException("maxSize must not be negative");
+		}
+
+		mObjects = new Object[maxSize];
+	}
+
+	/**
+	 * @return a new object, when the pool is empty.
+	 */
+	@NonNull
+	protected abstract T create();
+
+	/**
+	 * @return a released object, or a new one if there is none.
+	 */
+	@NonNull
+	@SuppressWarnings("unchecked")
+	public T acquire() {
+		if (mSize > 0) {
+			mHitCount++;
+
+			final T object = (T) mObjects[--mSize];
+			mObjects[mSize] = null;
+			return object;
+		}
+
+		mMissCount++;
+
+		return create();
+	}
+
+	/**
+	 * Returns an object to the pool. <i>Note that this method does not check whether the object is
+	 * already in the pool.</i>
+	 *
+	 * @param object
+	 * 		the object, which must no longer be used by the caller.
+	 * @return <code>true</code> if the object was kept, <code>false</code> if the pool is full.
+	 */
+	public boolean release(@NonNull final T object) {
+		if (mSize < mObjects.length) {
+			mObjects[mSize++] = object;
+			return true;
+		}
+
+		mDropCount++;
+
+		return false;
+	}
+
+	/**
+	 * @return the number of objects in the pool.
+	 */
+	public int getSize() {
+		return mSize;
+	}
+
+	public int getMaxSize() {
+		return mObjects.length;
+	}
+
+	/**
+	 * @return the number of calls to {@link #acquire()} that reused an object.
+	 */
+	public int getHitCount() {
+		return mHitCount;
+	}
+
+	/**
+	 * @return the number of calls to {@link #acquire()} that created an object.
+	 */
+	public int getMissCount() {
+		return mMissCount;
+	}
+
+	/**
+	 * @return the number of calls to {@link #release(Object)} that did not keep the object.
+	 */
+	public int getDropCount() {
+		return mDropCount;
+	}
+
+	/**
+	 * Resets the hit, miss and drop counts.
+	 */
+	public void resetCounts() {
+		mHitCount = 0;
+		mMissCount = 0;
+		mDropCount = 0;
+	}
+}
@@ -0,0 +1,46 @@
+package com.tumblr.backboard.physics;
+
+import androidx.annotation.NonNull;
+
+import com.facebook.rebound.ChoreographerCompat;
+
+/**
+ * A {@link BaseSpringBatch} stepped every frame by {@link ChoreographerCompat}, starting when a
+ * spring is activated and stopping once every spring is at rest. {@link #step(double)} may still
+ * be called directly, e.g. to render offscreen.
+ * <p>
+ * All methods must be called on the main thread.
+ */
+public class SpringBatch extends BaseSpringBatch {
+
+	private static final double NANOSECONDS_PER_SECOND = 1e9;
+
+	private boolean mRunning;
+	private long mLastFrameTimeNanos;
+
+	@NonNull
+	private final ChoreographerCompat.FrameCallback mFrameCallback = new ChoreographerCompat.FrameCallback() {
+		@Override
+		public void doFrame(final long frameTimeNanos) {
+			final long delta = Math.max(0, frameTimeNanos - mLastFrameTimeNanos);
+			mLastFrameTimeNanos = frameTimeNanos;
+
+			step(delta / NANOSECONDS_PER_SECOND);
+
+			if (getActiveCount() > 0) {
+				ChoreographerCompat.getInstance().postFrameCallback(this);
+			} else {
+				mRunning = false;
+			}
+		}
+	};
+
+	@Override
+	protected void startLooping() {
+		if (!mRunning) {
+			mRunning = true;
+			mLastFrameTimeNanos = System.nanoTime();
+			ChoreographerCompat.getInstance().postFrameCallback(mFrameCallback);
+		}
+	}
+}
@@ -0,0 +1,176 @@
+package com.tumblr.backboard.physics;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+/**
+ * A precomputed, normalized spring trajectory: the position of a spring moving from 0 to 1,
+ * sampled at a fixed interval until it comes to rest. Since the spring equation is linear, a
+ * transition from <code>a</code> to <code>b</code> is <code>a + (b - a) * getValue(time)</code>,
+ * so playing it back only interpolates a table. Curves that start at rest only depend on the
+ * spring config and the distance, and can be cached.
+ *
+ * @see SpringCurveCache
+ */
+public final class SpringCurve {
+
+	/**
+	 * The time between samples, in seconds.
+	 */
+	public static final double SAMPLE_INTERVAL = 1.0 / 240;
+
+	/**
+	 * Springs that take longer than this to come to rest are not sampled, in seconds.
+	 */
+	public static final double MAX_DURATION = 10;
+
+	@NonNull
+	private final float[] mValues;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param values
+	 * 		the normalized positions, one per {@link #SAMPLE_INTERVAL}. The last value is the rest
+	 * 		value.
+	 */
+	SpringCurve(@NonNull final float[] values) {
+		mValues = values;
+	}
+
+	/**
+	 * Samples the trajectory of a spring.
+	 *
+	 * @param tension
+	 * 		the tension of the spring.
+	 * @param friction
+	 * 		the friction of the spring.
+	 * @param distance
+	 * 		the distance the spring travels, used to scale the rest thresholds.
+	 * @param restSpeedThreshold
+	 * 		the rest speed threshold of the spring, in units per second.
+	 * @param restDisplacementThreshold
+	 * 		the rest displacement threshold of the spring.
+	 * @return the curve, or <code>null</code> if the spring does not come to rest within
+	 * {@link #MAX_DURATION}.
+	 */
+	@Nullable
+	public static SpringCurve compute(final double tension, final double friction, final double distance,
+	                                  final double restSpeedThreshold, final double restDisplacementThreshold) {
+		return compute(tension, friction, distance, 0, restSpeedThreshold, restDisplacementThreshold);
+	}
+
+	/**
+	 * Samples the trajectory of a spring that does not start at rest.
+	 *
+	 * @param tension
+	 * 		the tension of the spring.
+	 * @param friction
+	 * 		the friction of the spring.
+	 * @param distance
+	 * 		the signed distance from the current value to the end value of the spring.
+	 * @param velocity
+	 * 		the current velocity of the spring, in units per second.
+	 * @param restSpeedThreshold
+	 * 		the rest speed threshold of the spring, in units per second.
+	 * @param restDisplacementThreshold
+	 * 		the rest displacement threshold of the spring.
+	 * @return the curve, or <code>null</code> if the spring does not come to rest within
+	 * {@link #MAX_DURATION}.
+	 */
+	@Nullable
+	public static SpringCurve compute(final double tension, final double friction, final double distance,
+	                                  final double velocity, final double restSpeedThreshold,
+	                                  final double restDisplacementThreshold) {
+		final double scale = Math.abs(distance);
+
+		if (tension <= 0 || scale == 0) {
+			return null;
+		}
+
+		final DampedOscillator oscillator = new DampedOscillator().set(tension, friction, 0, velocity / distance, 1);
+		final int maxCount = (int) Math.ceil(MAX_DURATION / SAMPLE_INTERVAL);
+
+		for (int count = 1; count <= maxCount; count++) {
+			final double time = (count - 1) * SAMPLE_INTERVAL;
+
+			if (Math.abs(1 - oscillator.getPosition(time)) * scale <= restDisplacementThreshold
+					&& Math.abs(oscillator.getVelocity(time)) * scale <= restSpeedThreshold) {
+				final float[] values = new float[count];
+
+				for (int i = 0; i < count - 1; i++) {
+					values[i] = (float) oscillator.getPosition(i * SAMPLE_INTERVAL);
+				}
+
+				values[count - 1] = 1;
+
+				return new SpringCurve(values);
+			}
+		}
+
+		return null;
+	}
+
+	/**
+	 * @return the time it takes to come to rest, in seconds.
+	 */
+	public double getDuration() {
+		return (mValues.length - 1) * SAMPLE_INTERVAL;
+	}
+
+	/**
+	 * @param time
+	 * 		the time since the start of the transition, in seconds.
+	 * @return the normalized position at that time, 1 once at rest.
+	 */
+	public double getValue(final double time) {
+		if (time <= 0) {
+			return mValues[0];
+		}
+
+		final double index = time / SAMPLE_INTERVAL;
+		final int i = (int) index;
+
+		if (i >= mValues.length - 1) {
+			return 1;
+		}
+
+		final double fraction = index - i;
+
+		return mValues[i] + (mValues[i + 1] - mValues[i]) * fraction;
+	}
+
+	/**
+	 * @param time
+	 * 		the time since the start of the transition, in seconds.
+	 * @return the normalized velocity at that time, in units per second, from the slope of the
+	 * table.
+	 */
+	public double getVelocity(final double time) {
+		final int i = (int) (Math.max(0, time) / SAMPLE_INTERVAL);
+
+		if (i >= mValues.length - 1) {
+			return 0;
+		}
+
+		return (mValues[i + 1] - mValues[i]) / SAMPLE_INTERVAL;
+	}
+
+	/**
+	 * @return the number of samples.
+	 */
+	public int getSampleCount() {
+		return mValues.length;
+	}
+
+	/**
+	 * <i>Note that this method does not check the validity of</i> <code>index</code>.
+	 *
+	 * @param index
+	 * 		the sample index.
+	 * @return the normalized position at <code>index * SAMPLE_INTERVAL</code>.
+	 */
+	public float getSample(final int index) {
+		return mValues[index];
+	}
+}
@@ -0,0 +1,248 @@
+package com.tumblr.backboard.physics;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.facebook.rebound.SpringConfig;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A least-recently-used cache of {@link SpringCurve}s, keyed by tension, friction and distance.
+ * Computing a curve is done once per key; later transitions with the same spring and distance,
+ * like a toggle between two fixed values, only look it up.
+ * <p>
+ * The cache can be written to and read from a stream, e.g. a file in the app's storage, so that
+ * later launches skip computing the curves. Curves are computed with
+ * {@link SpringBatch#DEFAULT_REST_THRESHOLD}, the default rest thresholds of
+ * {@link com.facebook.rebound.Spring}.
+ * <p>
+ * Not thread safe.
+ */
+public class SpringCurveCache {
+
+	/**
+	 * The default maximum number of curves.
+	 */
+	public static final int DEFAULT_MAX_SIZE = 32;
+
+	/**
+	 * Identifies the format written by {@link #save(OutputStream)}.
+	 */
+	private static final int FORMAT_VERSION = 1;
+
+	private static final float LOAD_FACTOR = 0.75f;
+	private static final int HASH_MULTIPLIER = 31;
+
+	/**
+	 * Identifies a curve.
+	 */
+	private static final class Key {
+		private double mTension;
+		private double mFriction;
+		private double mDistance;
+
+		private Key(final double tension, final double friction, final double distance) {
+			mTension = tension;
+			mFriction = friction;
+			mDistance = distance;
+		}
+
+		@Override
+		public boolean equals(final Object o) {
+			if (!(o instanceof Key)) {
+				return false;
+			}
+
+			final Key key = (Key) o;
+
+			return mTension == key.mTension && mFriction == key.mFriction && mDistance == key.mDistance;
+		}
+
+		@Override
+		public int hashCode() {
+			int result = hash(mTension);
+			result = HASH_MULTIPLIER * result + hash(mFriction);
+			result = HASH_MULTIPLIER * result + hash(mDistance);
+			return result;
+		}
+
+		/**
+		 * Same as {@link Double#hashCode()}, without boxing.
+		 */
+		private static int hash(final double value) {
+			final long bits = Double.doubleToLongBits(value);
+			return (int) (bits ^ (bits >>> Integer.SIZE));
+		}
+	}
+
+	@NonNull
+	private final LinkedHashMap<Key, SpringCurve> mCurves;
+	/**
+	 * Reused for lookups, so that hits do not allocate a key.
+	 */
+	@NonNull
+	private final Key mLookupKey = new Key(0, 0, 0);
+
+	private final int mMaxSize;
+
+	/**
+	 * Constructor. Uses {@link #DEFAULT_MAX_SIZE}.
+	 */
+	public SpringCurveCache() {
+		this(DEFAULT_MAX_SIZE);
+	}
+
+	/**
+	 * Constructor.
+	 *
+	 * @param maxSize
+	 * 		the maximum number of curves to keep.
+	 */
+	public SpringCurveCache(final int maxSize) {
+		mMaxSize = maxSize;
+		mCurves = new LinkedHashMap<Key, SpringCurve>(maxSize, LOAD_FACTOR, true) {
+			@Override
+			protected boolean removeEldestEntry(final Map.Entry<Key, SpringCurve> eldest) {
+				return size() > mMaxSize;
+			}
+		};
+	}
+
+	/**
+	 * @param config
+	 * 		the spring config.
+	 * @param distance
+	 * 		the distance of the transition.
+	 * @return the curve, computed if needed, or <code>null</code> if the spring does not come to
+	 * rest.
+	 */
+	@Nullable
+	public SpringCurve get(@NonNull final SpringConfig config, final double distance) {
+		return get(config.tension, config.friction, distance);
+	}
+
+	/**
+	 * @param tension
+	 * 		the tension of the spring.
+	 * @param friction
+	 * 		the friction of the spring.
+	 * @param distance
+	 * 		the distance of the transition.
+	 * @return the curve, computed if needed, or <code>null</code> if the spring does not come to
+	 * rest.
+	 */
+	@Nullable
+	public SpringCurve get(final double tension, final double friction, final double distance) {
+		final double absDistance = Math.abs(distance);
+
+		mLookupKey.mTension = tension;
+		mLookupKey.mFriction = friction;
+		mLookupKey.mDistance = absDistance;
+
+		SpringCurve curve = mCurves.get(mLookupKey);
+
+		if (curve == null) {
+			curve = SpringCurve.compute(tension, friction, absDistance,
+					SpringBatch.DEFAULT_REST_THRESHOLD, SpringBatch.DEFAULT_REST_THRESHOLD);
+
+			if (curve != null) {
+				mCurves.put(new Key(tension, friction, absDistance), curve);
+			}
+		}
+
+		return curve;
+	}
+
+	/**
+	 * @return the number of curves.
+	 */
+	public int size() {
+		return mCurves.size();
+	}
+
+	public int getMaxSize() {
+		return mMaxSize;
+	}
+
+	/**
+	 * Removes every curve.
+	 */
+	public void clear() {
+		mCurves.clear();
+	}
+
+	/**
+	 * Writes every curve, from least to most recently used. The stream is not closed.
+	 *
+	 * @param outputStream
+	 * 		the stream to write to.
+	 * @throws IOException
+	 * 		if the stream cannot be written to.
+	 */
+	public void save(@NonNull final OutputStream outputStream) throws IOException {
+		final DataOutputStream out = new DataOutputStream(outputStream);
+
+		out.writeInt(FORMAT_VERSION);
+		out.writeInt(mCurves.size());
+
+		for (Map.Entry<Key, SpringCurve> entry : mCurves.entrySet()) {
+			final Key key = entry.getKey();
+			final SpringCurve curve = entry.getValue();
+
+			out.writeDouble(key.mTension);
+			out.writeDouble(key.mFriction);
+			out.writeDouble(key.mDistance);
+			out.writeInt(curve.getSampleCount());
+
+			for (int i = 0; i < curve.getSampleCount(); i++) {
+				out.writeFloat(curve.getSample(i));
+			}
+		}
+
+		out.flush();
+	}
+
+	/**
+	 * Adds the curves written by {@link #save(OutputStream)}. The stream is not closed.
+	 *
+	 * @param inputStream
+	 * 		the stream to read from.
+	 * @throws IOException
+	 * 		if the stream cannot be read from, or was not written by this class.
+	 */
+	public void load(@NonNull final InputStream inputStream) throws IOException {
+		final DataInputStream in = new DataInputStream(inputStream);
+
+		if (in.readInt() != FORMAT_VERSION) {
+			throw new IOException("unknown spring curve format");
+		}
+
+		final int size = in.readInt();
+
+		for (int i = 0; i < size; i++) {
+			final double tension = in.readDouble();
+			final double friction = in.readDouble();
+			final double distance = in.readDouble();
+			final int sampleCount = in.readInt();
+
+			if (sampleCount <= 0) {
+				throw new IOException("invalid spring curve");
+			}
+
+			final float[] values = new float[sampleCount];
+
+			for (int j = 0; j < sampleCount; j++) {
+				values[j] = in.readFloat();
+			}
+
+			mCurves.put(new Key(tension, friction, distance), new SpringCurve(values));
+		}
+	}
+}
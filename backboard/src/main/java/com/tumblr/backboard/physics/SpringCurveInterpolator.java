@@ -0,0 +1,40 @@
+package com.tumblr.backboard.physics;
+
+import android.animation.TimeInterpolator;
+
+import androidx.annotation.NonNull;
+
+/**
+ * Plays a {@link SpringCurve} with an animator, e.g. a {@link android.view.ViewPropertyAnimator},
+ * whose duration must be {@link SpringCurve#getDuration()}. Since the animator only needs the
+ * interpolator, it can run on the RenderThread, independent of the main thread.
+ * <p>
+ * The interpolation may overshoot 1 (and undershoot 0), like the spring.
+ */
+public class SpringCurveInterpolator implements TimeInterpolator {
+
+	@NonNull
+	private final SpringCurve mCurve;
+	private final double mDuration;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param curve
+	 * 		the curve to play.
+	 */
+	public SpringCurveInterpolator(@NonNull final SpringCurve curve) {
+		mCurve = curve;
+		mDuration = curve.getDuration();
+	}
+
+	@NonNull
+	public SpringCurve getCurve() {
+		return mCurve;
+	}
+
+	@Override
+	public float getInterpolation(final float input) {
+		return (float) mCurve.getValue(input * mDuration);
+	}
+}
@@ -0,0 +1,44 @@
+package com.tumblr.backboard.physics;
+
+import androidx.annotation.NonNull;
+
+import com.facebook.rebound.ChoreographerCompat;
+
+/**
+ * A {@link BaseSpringGraph} looped every frame by {@link ChoreographerCompat}, starting when a
+ * spring is activated and stopping once every spring is at rest. {@link #loop(double)} may still
+ * be called directly, e.g. to render offscreen.
+ * <p>
+ * All methods must be called on the main thread.
+ */
+public class SpringGraph extends BaseSpringGraph {
+
+	private static final double NANOSECONDS_PER_MILLISECOND = 1e6;
+
+	private boolean mRunning;
+	private long mLastFrameTimeNanos;
+
+	@NonNull
+	private final ChoreographerCompat.FrameCallback mFrameCallback = new ChoreographerCompat.FrameCallback() {
+		@Override
+		public void doFrame(final long frameTimeNanos) {
+			final long delta = Math.max(0, frameTimeNanos - mLastFrameTimeNanos);
+			mLastFrameTimeNanos = frameTimeNanos;
+
+			if (loop(delta / NANOSECONDS_PER_MILLISECOND)) {
+				ChoreographerCompat.getInstance().postFrameCallback(this);
+			} else {
+				mRunning = false;
+			}
+		}
+	};
+
+	@Override
+	protected void startLooping() {
+		if (!mRunning) {
+			mRunning = true;
+			mLastFrameTimeNanos = System.nanoTime();
+			ChoreographerCompat.getInstance().postFrameCallback(mFrameCallback);
+		}
+	}
+}
@@ -0,0 +1,102 @@
+package com.tumblr.backboard.trace;
+
+import android.view.MotionEvent;
+import android.view.View;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.tumblr.backboard.TouchSample;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Records the touch events received by an {@link com.tumblr.backboard.Actor} into a
+ * {@link TouchTrace}, for replaying later with a {@link TouchTraceReplayer}. Set it with
+ * {@link com.tumblr.backboard.Actor#setTouchTraceRecorder(TouchTraceRecorder)}; every event is
+ * recorded before it is dispatched, even while touch is disabled.
+ * <p>
+ * Events are buffered, so recording does not allocate. If writing fails, recording stops, and
+ * the error is thrown by {@link #close()}.
+ * <p>
+ * Must be used on the main thread.
+ */
+public class TouchTraceRecorder implements Closeable {
+
+	@NonNull
+	private final TouchTraceWriter mWriter;
+	@NonNull
+	private final TouchSample mSample = new TouchSample();
+	@Nullable
+	private IOException mException;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param file
+	 * 		the file to record into, replaced if it exists.
+	 * @throws IOException
+	 * 		if the file cannot be written.
+	 */
+	public TouchTraceRecorder(@NonNull final File file) throws IOException {
+		mWriter = new TouchTraceWriter(file);
+	}
+
+	/**
+	 * Records an event.
+	 *
+	 * @param view
+	 * 		the view the event was dispatched to, may be <code>null</code>.
+	 * @param event
+	 * 		the event.
+	 */
+	public void record(@Nullable final View view, @NonNull final MotionEvent event) {
+		if (mException != null) {
+			return;
+		}
+
+		try {
+			mWriter.write(mSample.set(view, event));
+		} catch (IOException e) {
+			mException = e;
+		}
+	}
+
+	/**
+	 * @return the number of events recorded.
+	 */
+	public int getEventCount() {
+		return mWriter.getEventCount();
+	}
+
+	/**
+	 * @return the error that stopped recording, if any.
+	 */
+	@Nullable
+	public IOException getException() {
+		return mException;
+	}
+
+	/**
+	 * Writes the remaining events and closes the file.
+	 *
+	 * @throws IOException
+	 * 		if the file could not be written, now or while recording.
+	 */
+	@Override
+	public void close() throws IOException {
+		try {
+			mWriter.close();
+		} catch (IOException e) {
+			if (mException == null) {
+				mException = e;
+			}
+		}
+
+		if (mException != null) {
+			throw mException;
+		}
+	}
+}
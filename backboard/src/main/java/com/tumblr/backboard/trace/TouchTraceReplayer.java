@@ -0,0 +1,232 @@
+package com.tumblr.backboard.trace;
+
+import android.view.MotionEvent;
+
+import androidx.annotation.NonNull;
+
+import com.facebook.rebound.BaseSpringSystem;
+import com.facebook.rebound.Spring;
+import com.facebook.rebound.SpringSystem;
+import com.tumblr.backboard.Actor;
+import com.tumblr.backboard.MotionSample;
+import com.tumblr.backboard.imitator.EventImitator;
+import com.tumblr.backboard.imitator.InertialImitator;
+import com.tumblr.backboard.imitator.ToggleImitator;
+import com.tumblr.backboard.imitator.TouchPredictor;
+
+/**
+ * Feeds a {@link TouchTrace} through an {@link Actor}, one simulated frame at a time, so that a
+ * recorded gesture gives the same spring values on every run, independent of the real clock and
+ * frame rate, e.g. to benchmark or check a change to an imitator.
+ * <p>
+ * Each frame dispatches the events recorded up to the frame time to the motion listener of the
+ * actor, rebuilt as {@link MotionEvent}s with their history, and then advances the spring system
+ * by one frame interval. The {@link TouchPredictor}s of the imitators are given the frame time as
+ * their clock, and keep it after the replay.
+ * <p>
+ * Anything else that reads the real clock or waits for a real frame would make the replay
+ * depend on it, so the constructor rejects:
+ * <ul>
+ * <li>springs that are not in the replayed {@link BaseSpringSystem}, or a {@link SpringSystem},
+ * which also loops on every real frame. The system should only be looped by the replayer, i.e.
+ * its {@link com.facebook.rebound.SpringLooper} does nothing.</li>
+ * <li>{@link InertialImitator}s, whose flings are stepped on real frames.</li>
+ * <li>{@link ToggleImitator}s with a curve cache, whose curves are played on real frames.</li>
+ * <li>actors that coalesce moves, which are delivered on the next real frame, or that hand off
+ * releases to view animators.</li>
+ * </ul>
+ * <p>
+ * Must be used on the main thread.
+ */
+public class TouchTraceReplayer {
+
+	/**
+	 * 60 frames per second.
+	 */
+	public static final long DEFAULT_FRAME_INTERVAL_NANOS = 16666667;
+
+	private static final long NANOSECONDS_PER_MILLISECOND = 1000000;
+
+	@NonNull
+	private final TouchTrace mTrace;
+	@NonNull
+	private final Actor mActor;
+	@NonNull
+	private final BaseSpringSystem mSpringSystem;
+	@NonNull
+	private final MotionSample mSample = new MotionSample();
+
+	private long mFrameIntervalNanos = DEFAULT_FRAME_INTERVAL_NANOS;
+	/**
+	 * The index of the next event to dispatch.
+	 */
+	private int mNextEvent;
+	private long mFrameTimeNanos;
+
+	/**
+	 * Reads the time of the current frame, in the time base of the trace.
+	 */
+	@NonNull
+	private final TouchPredictor.Clock mClock = new TouchPredictor.Clock() {
+		@Override
+		public long uptimeMillis() {
+			return mFrameTimeNanos / NANOSECONDS_PER_MILLISECOND;
+		}
+	};
+
+	/**
+	 * Constructor.
+	 *
+	 * @param trace
+	 * 		the events to replay.
+	 * @param actor
+	 * 		the actor to replay them through.
+	 * @param springSystem
+	 * 		the system of the springs of the actor, looped only by the replayer.
+	 * @throws IllegalArgumentException
+	 * 		if the actor or its springs would read the real clock, see {@link TouchTraceReplayer}.
+	 */
+	public TouchTraceReplayer(@NonNull final TouchTrace trace, @NonNull final Actor actor,
+	                          @NonNull final BaseSpringSystem springSystem) {
+		if (springSystem instanceof SpringSystem) {
+			throw new IllegalArgumentException("a SpringSystem loops on every frame, use a BaseSpringSystem");
+		} else if (actor.isCoalescingMoveEvents()) {
+			throw new IllegalArgumentException("actors that coalesce moves cannot be replayed");
+		} else if (actor.isHandingOffRelease()) {
+			throw new IllegalArgumentException("actors that hand off releases cannot be replayed");
+		}
+
+		for (Actor.Motion motion : actor.getMotions()) {
+			final Spring spring = motion.getSpring();
+
+			if (springSystem.getSpringById(spring.getId()) != spring) {
+				throw new IllegalArgumentException("spring " + spring.getId() + " is not in the replayed system");
+			}
+
+			for (EventImitator imitator : motion.getImitators()) {
+				if (imitator instanceof InertialImitator) {
+					throw new IllegalArgumentException("InertialImitator flings cannot be replayed");
+				} else if (imitator instanceof ToggleImitator && ((ToggleImitator) imitator).getCurveCache() != null) {
+					throw new IllegalArgumentException("ToggleImitator curves cannot be replayed");
+				}
+			}
+		}
+
+		mTrace = trace;
+		mActor = actor;
+		mSpringSystem = springSystem;
+
+		for (Actor.Motion motion : actor.getMotions()) {
+			for (EventImitator imitator : motion.getImitators()) {
+				if (imitator.getTouchPredictor() != null) {
+					imitator.getTouchPredictor().setClock(mClock);
+				}
+			}
+		}
+
+		rewind();
+	}
+
+	/**
+	 * Starts over from the first event. The springs are left as they are.
+	 */
+	public void rewind() {
+		mNextEvent = 0;
+		mFrameTimeNanos = mTrace.getEventCount() > 0 ? mTrace.getEventTime(0) * NANOSECONDS_PER_MILLISECOND : 0;
+	}
+
+	/**
+	 * Dispatches the events recorded up to the current frame time, advances the springs by one
+	 * frame, and moves on to the next frame.
+	 *
+	 * @return whether or not there are events left to dispatch or springs still moving.
+	 */
+	public boolean stepFrame() {
+		final TouchTrace trace = mTrace;
+		final int eventCount = trace.getEventCount();
+
+		while (mNextEvent < eventCount
+				&& trace.getEventTime(mNextEvent) * NANOSECONDS_PER_MILLISECOND <= mFrameTimeNanos) {
+			dispatch(trace.read(mNextEvent++, mSample));
+		}
+
+		mSpringSystem.loop((double) mFrameIntervalNanos / NANOSECONDS_PER_MILLISECOND);
+		mFrameTimeNanos += mFrameIntervalNanos;
+
+		return mNextEvent < eventCount || !mSpringSystem.getIsIdle();
+	}
+
+	/**
+	 * Steps frames until every event is dispatched and the springs come to rest.
+	 *
+	 * @return the number of frames.
+	 */
+	public int replay() {
+		int frames = 1;
+
+		while (stepFrame()) {
+			frames++;
+		}
+
+		return frames;
+	}
+
+	/**
+	 * Rebuilds a sample as an event and sends it to the motion listener of the actor.
+	 *
+	 * @param sample
+	 * 		the sample.
+	 */
+	private void dispatch(@NonNull final MotionSample sample) {
+		final int historySize = sample.getHistorySize();
+		final MotionEvent event;
+
+		// the oldest sample creates the event, and the others are added as batches after it
+		if (historySize > 0) {
+			event = MotionEvent.obtain(sample.getDownTime(), sample.getHistoricalEventTime(0), sample.getAction(),
+					sample.getHistoricalX(0), sample.getHistoricalY(0), 0);
+
+			for (int i = 1; i < historySize; i++) {
+				event.addBatch(sample.getHistoricalEventTime(i), sample.getHistoricalX(i),
+						sample.getHistoricalY(i), 1, 1, 0);
+			}
+
+			event.addBatch(sample.getEventTime(), sample.getX(), sample.getY(), 1, 1, 0);
+		} else {
+			event = MotionEvent.obtain(sample.getDownTime(), sample.getEventTime(), sample.getAction(),
+					sample.getX(), sample.getY(), 0);
+		}
+
+		mActor.getMotionListener().onTouch(mActor.getView(), event);
+		event.recycle();
+	}
+
+	/**
+	 * @return the index of the next event to dispatch.
+	 */
+	public int getNextEvent() {
+		return mNextEvent;
+	}
+
+	/**
+	 * @return the time of the next frame, in nanoseconds, in the time base of the trace.
+	 */
+	public long getFrameTimeNanos() {
+		return mFrameTimeNanos;
+	}
+
+	public long getFrameIntervalNanos() {
+		return mFrameIntervalNanos;
+	}
+
+	/**
+	 * @param frameIntervalNanos
+	 * 		the simulated time between frames, in nanoseconds.
+	 * @return this object for chaining
+	 */
+	@NonNull
+	public TouchTraceReplayer setFrameInterval(final long frameIntervalNanos) {
+		mFrameIntervalNanos = frameIntervalNanos;
+		return this;
+	}
+}